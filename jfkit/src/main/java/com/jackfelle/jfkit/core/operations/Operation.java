@@ -30,16 +30,25 @@ import com.jackfelle.jfkit.data.Blocks;
 import com.jackfelle.jfkit.utilities.BaseObserver;
 import com.jackfelle.jfkit.utilities.ObserversController;
 
+import java.lang.ref.WeakReference;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 public abstract class Operation
 {
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	// region Properties - Constants
+	
+	private static final @NonNull AtomicIntegerFieldUpdater<Operation> PENDING_DEPENDENCY_COUNT = AtomicIntegerFieldUpdater.newUpdater(Operation.class, "pendingDependencyCount");
+	
+	// endregion
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	// region Properties - Data
 	
@@ -51,6 +60,9 @@ public abstract class Operation
 	
 	private @Nullable Blocks.Block completion;
 	private @Nullable Set<Operation> dependencies;
+	private volatile int pendingDependencyCount;
+	private @Nullable Set<Operation> pendingDependencies;
+	private @Nullable OperationQueue.Entry queueEntry;
 	private @NonNull QueuePriority queuePriority;
 	
 	// endregion
@@ -58,7 +70,8 @@ public abstract class Operation
 	// region Properties - Observers
 	
 	private @Nullable DependencyObserver dependencyObserver;
-	private final @NonNull ObserversController<Observer> observers;
+	private volatile @Nullable WeakReference<Observer> observer;
+	private volatile @Nullable ObserversController<Observer> observers;
 	
 	// endregion
 	////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -104,6 +117,7 @@ public abstract class Operation
 				retObj = this.dependencies;
 				if(retObj == null) {
 					retObj = new HashSet<>();
+					this.pendingDependencies = new HashSet<>();
 					this.dependencies = retObj;
 				}
 			}
@@ -111,6 +125,34 @@ public abstract class Operation
 		return retObj;
 	}
 	
+	private int getPendingDependencyCount() {
+		return this.pendingDependencyCount;
+	}
+	
+	private synchronized @NonNull Set<Operation> getPendingDependencies() {
+		// Created together with the dependencies set, which must already exist when this is called.
+		return Objects.requireNonNull(this.pendingDependencies);
+	}
+	
+	synchronized @Nullable OperationQueue.Entry getQueueEntry() {
+		return this.queueEntry;
+	}
+	
+	synchronized void clearQueueEntry(@NonNull OperationQueue.Entry queueEntry) {
+		if(this.queueEntry == queueEntry) {
+			this.queueEntry = null;
+		}
+	}
+	
+	synchronized boolean setQueueEntryIfAbsent(@NonNull OperationQueue.Entry queueEntry) {
+		if(this.queueEntry != null) {
+			return false;
+		}
+		
+		this.queueEntry = queueEntry;
+		return true;
+	}
+	
 	public synchronized @NonNull QueuePriority getQueuePriority() {
 		return this.queuePriority;
 	}
@@ -138,7 +180,16 @@ public abstract class Operation
 	}
 	
 	protected @NonNull ObserversController<Observer> getObservers() {
-		return this.observers;
+		ObserversController<Observer> retObj = this.observers;
+		if(retObj == null) {
+			synchronized(this) {
+				retObj = this.observers;
+				if(retObj == null) {
+					retObj = this.upgradeObservers();
+				}
+			}
+		}
+		return retObj;
 	}
 	
 	// endregion
@@ -168,17 +219,7 @@ public abstract class Operation
 			}
 		}
 		
-		Set<Operation> dependencies = this.getDependencies(false);
-		if(dependencies != null) {
-			synchronized(dependencies) {
-				for(Operation operation : dependencies) {
-					if(!operation.isFinished()) {
-						return false;
-					}
-				}
-			}
-		}
-		return true;
+		return (this.getPendingDependencyCount() == 0);
 	}
 	
 	// endregion
@@ -192,10 +233,14 @@ public abstract class Operation
 		// Execution
 		this.completion = null;
 		this.dependencies = null;
+		this.pendingDependencies = null;
+		this.pendingDependencyCount = 0;
+		this.queueEntry = null;
 		this.queuePriority = QueuePriority.NORMAL;
 		
 		// Observers
-		this.observers = new ObserversController<>();
+		this.observer = null;
+		this.observers = null;
 		
 		// State
 		this.canceled = false;
@@ -208,22 +253,8 @@ public abstract class Operation
 	// region Methods - Execution
 	
 	public <T extends Operation> void addDependencies(@NonNull Collection<T> operations) {
-		if(operations.isEmpty()) {
-			return;
-		}
-		
-		Set<Operation> dependencies = this.getDependencies(true);
-		if(dependencies == null) {
-			return;
-		}
-		
-		synchronized(dependencies) {
-			dependencies.addAll(operations);
-			
-			DependencyObserver observer = this.getDependencyObserver();
-			for(Operation dependency : dependencies) {
-				dependency.addObserver(observer);
-			}
+		for(Operation dependency : operations) {
+			this.addDependency(dependency);
 		}
 	}
 	
@@ -234,9 +265,19 @@ public abstract class Operation
 		}
 		
 		synchronized(dependencies) {
-			dependencies.add(dependency);
+			if(!dependencies.add(dependency)) {
+				return;
+			}
+			
+			this.getPendingDependencies().add(dependency);
+			Operation.PENDING_DEPENDENCY_COUNT.incrementAndGet(this);
 			dependency.addObserver(this.getDependencyObserver());
 		}
+		
+		// The dependency may have finished before the observer was registered.
+		if(dependency.isFinished()) {
+			this.dependencyIsResolved(dependency);
+		}
 	}
 	
 	public void cancel() {
@@ -248,7 +289,7 @@ public abstract class Operation
 			this.canceled = true;
 		}
 		
-		this.getObservers().notifyObservers(observer -> observer.operationIsCanceled(this), false);
+		this.notifyObservers(Observer::operationIsCanceled);
 	}
 	
 	protected void finish() {
@@ -268,29 +309,33 @@ public abstract class Operation
 			completion.execute();
 		}
 		
-		this.getObservers().notifyObservers(observer -> observer.operationIsFinished(this), false);
+		this.notifyObservers(Observer::operationIsFinished);
 	}
 	
 	protected void main() {
 	}
 	
-	public <T extends Operation> void removeDependencies(@NonNull Collection<T> operations) {
-		if(operations.isEmpty()) {
-			return;
-		}
-		
+	private void dependencyIsResolved(@NonNull Operation dependency) {
 		Set<Operation> dependencies = this.getDependencies(false);
 		if(dependencies == null) {
 			return;
 		}
 		
+		// Each dependency is counted down exactly once, whether it finished or it has been removed.
 		synchronized(dependencies) {
-			DependencyObserver observer = this.getDependencyObserver();
-			for(Operation dependency : dependencies) {
-				dependency.removeObserver(observer);
+			if(!this.getPendingDependencies().remove(dependency)) {
+				return;
 			}
-			
-			dependencies.removeAll(operations);
+		}
+		
+		if((Operation.PENDING_DEPENDENCY_COUNT.decrementAndGet(this) == 0) && this.isReady()) {
+			this.notifyObservers(Observer::operationIsReady);
+		}
+	}
+	
+	public <T extends Operation> void removeDependencies(@NonNull Collection<T> operations) {
+		for(Operation dependency : operations) {
+			this.removeDependency(dependency);
 		}
 	}
 	
@@ -301,9 +346,14 @@ public abstract class Operation
 		}
 		
 		synchronized(dependencies) {
+			if(!dependencies.remove(dependency)) {
+				return;
+			}
+			
 			dependency.removeObserver(this.getDependencyObserver());
-			dependencies.remove(dependency);
 		}
+		
+		this.dependencyIsResolved(dependency);
 	}
 	
 	public void start() {
@@ -320,7 +370,7 @@ public abstract class Operation
 			this.executing = true;
 		}
 		
-		this.getObservers().notifyObservers(observer -> observer.operationIsExecuting(this), false);
+		this.notifyObservers(Observer::operationIsExecuting);
 		
 		this.main();
 		
@@ -344,11 +394,65 @@ public abstract class Operation
 	// region Methods - Observers
 	
 	public void addObserver(@NonNull Observer observer) {
-		this.getObservers().addObserver(observer);
+		synchronized(this) {
+			ObserversController<Observer> observers = this.observers;
+			if(observers == null) {
+				// Most operations only ever get the observer of their queue: keep it inline until a second one comes.
+				WeakReference<Observer> reference = this.observer;
+				Observer oldObserver = ((reference == null) ? null : reference.get());
+				if(oldObserver == observer) {
+					return;
+				}
+				if(oldObserver == null) {
+					this.observer = new WeakReference<>(observer);
+					return;
+				}
+				observers = this.upgradeObservers();
+			}
+			observers.addObserver(observer);
+		}
+	}
+	
+	private void notifyObservers(@NonNull ObserversController.NotificationBlockWithObject<Observer, Operation> notificationBlock) {
+		// The inline slot must be read before the controller: an upgrade publishes the controller first and clears the slot after.
+		WeakReference<Observer> reference = this.observer;
+		ObserversController<Observer> observers = this.observers;
+		if(observers != null) {
+			observers.notifyObservers(notificationBlock, this, false);
+			return;
+		}
+		
+		Observer observer = ((reference == null) ? null : reference.get());
+		if(observer != null) {
+			notificationBlock.execute(observer, this);
+		}
 	}
 	
 	public void removeObserver(@NonNull Observer observer) {
-		this.getObservers().removeObserver(observer);
+		synchronized(this) {
+			ObserversController<Observer> observers = this.observers;
+			if(observers != null) {
+				observers.removeObserver(observer);
+				return;
+			}
+			
+			WeakReference<Observer> reference = this.observer;
+			if((reference != null) && (reference.get() == observer)) {
+				this.observer = null;
+			}
+		}
+	}
+	
+	private @NonNull ObserversController<Observer> upgradeObservers() {
+		ObserversController<Observer> retObj = new ObserversController<>();
+		WeakReference<Observer> reference = this.observer;
+		Observer observer = ((reference == null) ? null : reference.get());
+		if(observer != null) {
+			retObj.addObserver(observer);
+		}
+		this.observers = retObj;
+		this.observer = null;
+		return retObj;
 	}
 	
 	// endregion
@@ -424,11 +528,10 @@ public abstract class Operation
 		}
 		
 		@Override public void operationIsFinished(@NonNull Operation sender) {
-			this.execute(owner -> {
-				if(owner.isReady()) {
-					owner.getObservers().notifyObservers(observer -> observer.operationIsReady(owner));
-				}
-			});
+			Operation owner = this.getOwner();
+			if(owner != null) {
+				owner.dependencyIsResolved(sender);
+			}
 		}
 		
 		@Override public void operationIsReady(@NonNull Operation sender) {
@@ -26,18 +26,32 @@ package com.jackfelle.jfkit.core.operations;
 
 import android.os.Handler;
 import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
 
 import com.jackfelle.jfkit.data.Blocks;
 import com.jackfelle.jfkit.utilities.Lazy;
 import com.jackfelle.jfkit.utilities.Utilities;
 
+import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -49,21 +63,29 @@ public class OperationQueue implements Operation.Observer
 	
 	private static final String TAG = OperationQueue.class.getSimpleName();
 	
+	private static final long DEFAULT_MAIN_DISPATCH_TIME_BUDGET = 8;
+	private static final long SHARED_WORKER_POOL_KEEP_ALIVE_TIME = 60;
+	
 	// endregion
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	// region Properties - Memory
 	
 	private static final @NonNull Lazy<OperationQueue> BACKGROUND_QUEUE;
 	private static final @NonNull Lazy<OperationQueue> MAIN_QUEUE;
+	private static final @NonNull Lazy<ExecutorService> SHARED_WORKER_POOL;
+	private static final @NonNull Lazy<ExecutorService> VIRTUAL_THREAD_WORKER_POOL;
+	private static final @NonNull Lazy<Boolean> VIRTUAL_THREADS_SUPPORTED;
 	
 	// endregion
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	// region Properties - Concurrency
 	
 	private int executingConcurrentOperationCount;
+	private long mainDispatchTimeBudget;
 	private final @NonNull Handler mainHandler;
 	private int maxConcurrentOperationCount;
 	private boolean needsStartWorkers;
+	private @Nullable Executor workerExecutor;
 	
 	// endregion
 	////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -75,10 +97,15 @@ public class OperationQueue implements Operation.Observer
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	// region Properties - Execution
 	
-	private static final @NonNull Map<Thread, OperationQueue> WORKER_QUEUES;
+	private static final @NonNull ThreadLocal<OperationQueue> CURRENT_QUEUE;
+	private static final @NonNull ThreadLocal<Worker> CURRENT_WORKER;
 	private final boolean mainQueue;
-	private final @NonNull Map<Operation.QueuePriority, List<Operation>> queues;
+	private final @NonNull EntryList entries;
+	private final @NonNull AtomicInteger readyOperationCount;
+	private final @NonNull Map<Operation.QueuePriority, Deque<Entry>> readyQueues;
 	private boolean suspended;
+	private final @NonNull List<Worker> workers;
+	private final boolean workStealing;
 	
 	// endregion
 	////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -88,10 +115,22 @@ public class OperationQueue implements Operation.Observer
 		return Runtime.getRuntime().availableProcessors();
 	}
 	
+	public static boolean areVirtualThreadsSupported() {
+		return OperationQueue.VIRTUAL_THREADS_SUPPORTED.get();
+	}
+	
 	private synchronized int getExecutingConcurrentOperationCount() {
 		return this.executingConcurrentOperationCount;
 	}
 	
+	public synchronized long getMainDispatchTimeBudget() {
+		return this.mainDispatchTimeBudget;
+	}
+	
+	public synchronized void setMainDispatchTimeBudget(long mainDispatchTimeBudget) {
+		this.mainDispatchTimeBudget = Math.max(0, mainDispatchTimeBudget);
+	}
+	
 	protected @NonNull Handler getMainHandler() {
 		return this.mainHandler;
 	}
@@ -123,6 +162,14 @@ public class OperationQueue implements Operation.Observer
 		this.setNeedsStartWorkers();
 	}
 	
+	public synchronized @Nullable Executor getWorkerExecutor() {
+		return this.workerExecutor;
+	}
+	
+	public synchronized void setWorkerExecutor(@Nullable Executor workerExecutor) {
+		this.workerExecutor = workerExecutor;
+	}
+	
 	// endregion
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	// region Properties (Accessors) - Data
@@ -143,6 +190,15 @@ public class OperationQueue implements Operation.Observer
 		return (this.getExecutingConcurrentOperationCount() > 0);
 	}
 	
+	private @Nullable Worker getCurrentWorker() {
+		Worker retObj = OperationQueue.CURRENT_WORKER.get();
+		return (((retObj != null) && (retObj.getQueue() == this)) ? retObj : null);
+	}
+	
+	public boolean isCurrentQueue() {
+		return (OperationQueue.CURRENT_QUEUE.get() == this);
+	}
+	
 	public boolean isMainQueue() {
 		return this.mainQueue;
 	}
@@ -164,31 +220,31 @@ public class OperationQueue implements Operation.Observer
 			return 0;
 		}
 		
-		maxWorkers -= currentWorkers;
-		
-		int retVal = 0;
-		for(Operation operation : this.getOperations()) {
-			if(operation.isReady() && (++retVal >= maxWorkers)) {
-				break;
-			}
-		}
-		return retVal;
+		return Math.min(maxWorkers - currentWorkers, this.getReadyOperationCount().get());
+	}
+	
+	private @NonNull EntryList getEntries() {
+		return this.entries;
 	}
 	
 	public @NonNull List<Operation> getOperations() {
-		Map<Operation.QueuePriority, List<Operation>> queues = this.getQueues();
-		
-		List<Operation> retObj = new ArrayList<>();
-		for(List<Operation> queue : queues.values()) {
-			synchronized(queue) {
-				retObj.addAll(queue);
-			}
-		}
-		return retObj;
+		return this.getEntries().getOperations();
+	}
+	
+	private @NonNull AtomicInteger getReadyOperationCount() {
+		return this.readyOperationCount;
+	}
+	
+	private @NonNull Map<Operation.QueuePriority, Deque<Entry>> getReadyQueues() {
+		return this.readyQueues;
+	}
+	
+	private @NonNull List<Worker> getWorkers() {
+		return this.workers;
 	}
 	
-	private @NonNull Map<Operation.QueuePriority, List<Operation>> getQueues() {
-		return this.queues;
+	public boolean isWorkStealing() {
+		return this.workStealing;
 	}
 	
 	protected void setNeedsStartWorkers() {
@@ -200,7 +256,12 @@ public class OperationQueue implements Operation.Observer
 			this.needsStartWorkers = true;
 		}
 		
-		new Thread(() -> {
+		if(this.isMainQueue()) {
+			this.getMainHandler().post(this::drainMainQueue);
+			return;
+		}
+		
+		boolean executed = this.executeOnWorkerThread(() -> {
 			synchronized(this) {
 				if(!this.needsStartWorkers) {
 					return;
@@ -210,7 +271,14 @@ public class OperationQueue implements Operation.Observer
 			}
 			
 			this.startWorkers();
-		}, this.newThreadName("Starter")).start();
+		}, "Starter");
+		
+		// The next change of the queue tries again.
+		if(!executed) {
+			synchronized(this) {
+				this.needsStartWorkers = false;
+			}
+		}
 	}
 	
 	public synchronized boolean isSuspended() {
@@ -240,7 +308,24 @@ public class OperationQueue implements Operation.Observer
 			retObj.setName(OperationQueue.class.getSimpleName() + ".main");
 			return retObj;
 		});
-		WORKER_QUEUES = new HashMap<>();
+		SHARED_WORKER_POOL = Lazy.newSynchronizedInstance(() -> {
+			String threadName = OperationQueue.class.getSimpleName() + ".pool-Worker-";
+			AtomicInteger threadCount = new AtomicInteger(0);
+			return new ThreadPoolExecutor(0, Integer.MAX_VALUE, OperationQueue.SHARED_WORKER_POOL_KEEP_ALIVE_TIME, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+				// Idle pooled threads must not keep the process alive while they wait for the keep-alive time to expire.
+				Thread retObj = new Thread(runnable, threadName + threadCount.incrementAndGet());
+				retObj.setDaemon(true);
+				return retObj;
+			});
+		});
+		VIRTUAL_THREAD_WORKER_POOL = Lazy.newSynchronizedInstance(() -> {
+			// Falls back to the platform threads of the shared pool when the runtime doesn't provide virtual threads.
+			ExecutorService retObj = OperationQueue.newVirtualThreadPerTaskExecutor();
+			return ((retObj != null) ? retObj : OperationQueue.getSharedWorkerPool());
+		});
+		VIRTUAL_THREADS_SUPPORTED = Lazy.newSynchronizedInstance(() -> (OperationQueue.getVirtualThreadWorkerPool() != OperationQueue.getSharedWorkerPool()));
+		CURRENT_QUEUE = new ThreadLocal<>();
+		CURRENT_WORKER = new ThreadLocal<>();
 	}
 	
 	public static @NonNull OperationQueue getBackgroundQueue() {
@@ -248,15 +333,21 @@ public class OperationQueue implements Operation.Observer
 	}
 	
 	public static @Nullable OperationQueue getCurrentQueue() {
-		synchronized(OperationQueue.WORKER_QUEUES) {
-			return OperationQueue.WORKER_QUEUES.get(Thread.currentThread());
-		}
+		return OperationQueue.CURRENT_QUEUE.get();
 	}
 	
 	public static @NonNull OperationQueue getMainQueue() {
 		return OperationQueue.MAIN_QUEUE.get();
 	}
 	
+	public static @NonNull ExecutorService getSharedWorkerPool() {
+		return OperationQueue.SHARED_WORKER_POOL.get();
+	}
+	
+	public static @NonNull ExecutorService getVirtualThreadWorkerPool() {
+		return OperationQueue.VIRTUAL_THREAD_WORKER_POOL.get();
+	}
+	
 	public static @NonNull OperationQueue newConcurrentQueue(@Nullable String name) {
 		return OperationQueue.newQueue(name, 0);
 	}
@@ -265,10 +356,40 @@ public class OperationQueue implements Operation.Observer
 		return OperationQueue.newQueue(name, 1);
 	}
 	
+	public static @NonNull OperationQueue newVirtualThreadQueue(@Nullable String name, int maxConcurrentOperations) {
+		return OperationQueue.newQueue(name, maxConcurrentOperations, OperationQueue.getVirtualThreadWorkerPool());
+	}
+	
+	private static @Nullable ExecutorService newVirtualThreadPerTaskExecutor() {
+		try {
+			Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService)method.invoke(null);
+		} catch(ReflectiveOperationException | RuntimeException e) {
+			return null;
+		}
+	}
+	
+	public static @NonNull OperationQueue newWorkStealingQueue(@Nullable String name) {
+		return OperationQueue.newWorkStealingQueue(name, 0, null);
+	}
+	
+	public static @NonNull OperationQueue newWorkStealingQueue(@Nullable String name, int maxConcurrentOperations, @Nullable Executor workerExecutor) {
+		OperationQueue retObj = new OperationQueue(false, true);
+		retObj.setMaxConcurrentOperationCount(maxConcurrentOperations);
+		retObj.setName(name);
+		retObj.setWorkerExecutor(workerExecutor);
+		return retObj;
+	}
+	
 	public static @NonNull OperationQueue newQueue(@Nullable String name, int maxConcurrentOperations) {
+		return OperationQueue.newQueue(name, maxConcurrentOperations, null);
+	}
+	
+	public static @NonNull OperationQueue newQueue(@Nullable String name, int maxConcurrentOperations, @Nullable Executor workerExecutor) {
 		OperationQueue retObj = new OperationQueue();
 		retObj.setMaxConcurrentOperationCount(maxConcurrentOperations);
 		retObj.setName(name);
+		retObj.setWorkerExecutor(workerExecutor);
 		return retObj;
 	}
 	
@@ -277,22 +398,35 @@ public class OperationQueue implements Operation.Observer
 	}
 	
 	protected OperationQueue(boolean isMainQueue) {
-		Operation.QueuePriority[] queuePriorities = Operation.QueuePriority.values();
-		Map<Operation.QueuePriority, List<Operation>> queues = new HashMap<>(queuePriorities.length);
-		for(Operation.QueuePriority queuePriority : queuePriorities) {
-			queues.put(queuePriority, new LinkedList<>());
-		}
-		
+		this(isMainQueue, false);
+	}
+	
+	private OperationQueue(boolean isMainQueue, boolean isWorkStealing) {
 		// Concurrency
 		this.executingConcurrentOperationCount = 0;
+		this.mainDispatchTimeBudget = OperationQueue.DEFAULT_MAIN_DISPATCH_TIME_BUDGET;
 		this.mainHandler = new Handler(Looper.getMainLooper());
 		this.maxConcurrentOperationCount = (isMainQueue ? 1 : OperationQueue.getRuntimeAvailableProcessors());
 		this.needsStartWorkers = false;
+		this.workerExecutor = null;
 		
 		// Execution
 		this.mainQueue = isMainQueue;
-		this.queues = queues;
+		this.entries = new EntryList();
+		this.readyOperationCount = new AtomicInteger(0);
+		this.readyQueues = OperationQueue.newReadyQueues();
 		this.suspended = false;
+		this.workers = new CopyOnWriteArrayList<>();
+		this.workStealing = (isWorkStealing && !isMainQueue);
+	}
+	
+	private static @NonNull Map<Operation.QueuePriority, Deque<Entry>> newReadyQueues() {
+		Operation.QueuePriority[] queuePriorities = Operation.QueuePriority.values();
+		Map<Operation.QueuePriority, Deque<Entry>> retObj = new HashMap<>(queuePriorities.length);
+		for(Operation.QueuePriority queuePriority : queuePriorities) {
+			retObj.put(queuePriority, new ConcurrentLinkedDeque<>());
+		}
+		return retObj;
 	}
 	
 	// endregion
@@ -305,80 +439,255 @@ public class OperationQueue implements Operation.Observer
 			return;
 		}
 		
-		String threadName = this.newThreadName("Worker");
 		synchronized(this) {
 			for(int i = 0; i < neededWorkers; i++) {
 				this.executingConcurrentOperationCount++;
-				new Thread(() -> {
-					while(this.executeNextOperation()) {
-						synchronized(this) {
-							if(this.suspended || (this.executingConcurrentOperationCount > this.maxConcurrentOperationCount)) {
-								break;
-							}
-						}
+				if(!this.executeOnWorkerThread(this::runWorker, "Worker")) {
+					// No entry has been claimed yet: giving the slot back is enough, the ready operations stay where they are.
+					this.executingConcurrentOperationCount--;
+					break;
+				}
+			}
+		}
+	}
+	
+	private void runWorker() {
+		Worker worker = null;
+		if(this.isWorkStealing()) {
+			worker = new Worker(this);
+			this.getWorkers().add(worker);
+			OperationQueue.CURRENT_WORKER.set(worker);
+		}
+		
+		boolean releasesSlot = true;
+		try {
+			Entry entry;
+			while((entry = this.pollReadyEntry()) != null) {
+				if(!this.executeEntry(entry)) {
+					// The slot now belongs to the asynchronous operation and is released when it finishes.
+					releasesSlot = false;
+					break;
+				}
+				
+				synchronized(this) {
+					if(this.suspended || (this.executingConcurrentOperationCount > this.maxConcurrentOperationCount)) {
+						break;
 					}
-					
-					synchronized(this) {
-						this.executingConcurrentOperationCount--;
+				}
+			}
+		} finally {
+			if(worker != null) {
+				OperationQueue.CURRENT_WORKER.remove();
+				this.getWorkers().remove(worker);
+				
+				// Whatever is left in the local deques is handed back to the shared ones, still counted as ready.
+				Map<Operation.QueuePriority, Deque<Entry>> readyQueues = this.getReadyQueues();
+				for(Operation.QueuePriority queuePriority : Operation.QueuePriority.SORTED_VALUES_DESC) {
+					Deque<Entry> localQueue = worker.getReadyQueue(queuePriority);
+					Deque<Entry> sharedQueue = Objects.requireNonNull(readyQueues.get(queuePriority));
+					Entry entry;
+					while((entry = localQueue.pollFirst()) != null) {
+						sharedQueue.offer(entry);
 					}
-				}, threadName).start();
+				}
+			}
+			
+			if(releasesSlot) {
+				synchronized(this) {
+					this.executingConcurrentOperationCount--;
+				}
+			}
+			
+			// Operations that became ready while this worker was leaving, even because an operation threw, would otherwise wait for the next enqueue.
+			if(this.getReadyOperationCount().get() > 0) {
+				this.setNeedsStartWorkers();
 			}
 		}
 	}
 	
-	// endregion
-	////////////////////////////////////////////////////////////////////////////////////////////////////
-	// region Methods - Execution
-	
-	private boolean executeNextOperation() {
-		Operation operation = null;
-		
-		Map<Operation.QueuePriority, List<Operation>> queues = this.getQueues();
-		for(Operation.QueuePriority queuePriority : Operation.QueuePriority.SORTED_VALUES_DESC) {
-			List<Operation> queue = queues.get(queuePriority);
-			if(queue == null) {
-				continue;
+	private void drainMainQueue() {
+		long timeBudget;
+		synchronized(this) {
+			this.needsStartWorkers = false;
+			if(this.suspended || (this.executingConcurrentOperationCount >= this.maxConcurrentOperationCount)) {
+				return;
 			}
 			
-			synchronized(queue) {
-				for(int i = 0; i < queue.size(); i++) {
-					Operation temp = queue.get(i);
-					if(temp.isReady()) {
-						operation = temp;
-						break;
-					}
+			this.executingConcurrentOperationCount++;
+			timeBudget = this.mainDispatchTimeBudget;
+		}
+		
+		// Runs as many ready operations as the time budget allows in a single message, then yields the main thread back to the looper.
+		long deadline = SystemClock.uptimeMillis() + timeBudget;
+		boolean releasesSlot = true;
+		try {
+			Entry entry;
+			while((entry = this.pollReadyEntry()) != null) {
+				if(!this.executeEntry(entry)) {
+					releasesSlot = false;
+					break;
+				}
+				
+				if(this.isSuspended() || (SystemClock.uptimeMillis() >= deadline)) {
+					break;
+				}
+			}
+		} finally {
+			if(releasesSlot) {
+				synchronized(this) {
+					this.executingConcurrentOperationCount--;
 				}
 			}
 			
-			if(operation != null) {
-				break;
+			if(this.getReadyOperationCount().get() > 0) {
+				this.setNeedsStartWorkers();
 			}
 		}
+	}
+	
+	private void releaseSlot() {
+		synchronized(this) {
+			this.executingConcurrentOperationCount--;
+		}
 		
-		if(operation == null) {
-			return false;
+		if(this.getReadyOperationCount().get() > 0) {
+			this.setNeedsStartWorkers();
+		}
+	}
+	
+	private boolean executeOnWorkerThread(@NonNull Runnable runnable, @NonNull String threadNameSuffix) {
+		// Pooled threads are parked between bursts and reused, so no thread is created per worker.
+		Executor workerExecutor = this.getWorkerExecutor();
+		if(workerExecutor == null) {
+			new Thread(runnable, this.newThreadName(threadNameSuffix)).start();
+			return true;
 		}
 		
-		Thread thread = Thread.currentThread();
-		synchronized(OperationQueue.WORKER_QUEUES) {
-			OperationQueue.WORKER_QUEUES.put(thread, this);
+		try {
+			workerExecutor.execute(runnable);
+		} catch(RejectedExecutionException e) {
+			Log.e(OperationQueue.TAG, String.format(Locale.US, "Worker executor of queue '%s' rejected the %s.", this.getName(), threadNameSuffix.toLowerCase(Locale.US)), e);
+			return false;
+		}
+		return true;
+	}
+	
+	// endregion
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	// region Methods - Execution
+	
+	private void enqueueReadyOperation(@NonNull Entry entry) {
+		// Only the caller that clears the waiting flag may publish the entry, so it is never enqueued twice.
+		if(!entry.compareAndSetWaiting(true, false)) {
+			return;
 		}
 		
-		if(this.isMainQueue()) {
-			this.getMainHandler().post(operation::start);
-		} else {
-			operation.start();
+		// Operations made ready by a worker of a work-stealing queue stay on that worker until someone steals them.
+		Operation.QueuePriority queuePriority = entry.getOperation().getQueuePriority();
+		Worker worker = this.getCurrentWorker();
+		Deque<Entry> readyQueue = ((worker != null) ? worker.getReadyQueue(queuePriority) : Objects.requireNonNull(this.getReadyQueues().get(queuePriority)));
+		readyQueue.offer(entry);
+		this.getReadyOperationCount().incrementAndGet();
+	}
+	
+	private boolean executeEntry(@NonNull Entry entry) {
+		Operation operation = entry.getOperation();
+		
+		if(!operation.isAsynchronous()) {
+			this.startOperation(operation);
+			if(!operation.isExecuting() && !operation.isFinished()) {
+				this.requeueEntry(entry);
+			}
+			return true;
 		}
 		
-		operation.waitUntilFinished();
+		// The worker's slot is lent to the asynchronous operation before starting it, because it may finish on another thread at any time.
+		entry.setHoldsSlot(true);
+		this.startOperation(operation);
+		if(operation.isExecuting() || operation.isFinished()) {
+			return false;
+		}
 		
-		synchronized(OperationQueue.WORKER_QUEUES) {
-			OperationQueue.WORKER_QUEUES.remove(thread);
+		// The operation didn't start: unless it finished in the meantime and already gave the slot back, the worker keeps going.
+		if(!entry.compareAndSetHoldsSlot(true, false)) {
+			return false;
 		}
 		
+		this.requeueEntry(entry);
 		return true;
 	}
 	
+	private void startOperation(@NonNull Operation operation) {
+		ThreadLocal<OperationQueue> currentQueue = OperationQueue.CURRENT_QUEUE;
+		OperationQueue previousQueue = currentQueue.get();
+		currentQueue.set(this);
+		try {
+			operation.start();
+		} finally {
+			currentQueue.set(previousQueue);
+		}
+	}
+	
+	private @Nullable Entry pollReadyEntry() {
+		Worker worker = this.getCurrentWorker();
+		Map<Operation.QueuePriority, Deque<Entry>> readyQueues = this.getReadyQueues();
+		for(Operation.QueuePriority queuePriority : Operation.QueuePriority.SORTED_VALUES_DESC) {
+			Entry entry;
+			
+			// Local work is taken newest first, shared and stolen work oldest first.
+			if(worker != null) {
+				entry = this.pollReadyEntry(worker.getReadyQueue(queuePriority), true);
+				if(entry != null) {
+					return entry;
+				}
+			}
+			
+			entry = this.pollReadyEntry(Objects.requireNonNull(readyQueues.get(queuePriority)), false);
+			if(entry != null) {
+				return entry;
+			}
+			
+			if(this.isWorkStealing()) {
+				for(Worker victim : this.getWorkers()) {
+					if(victim == worker) {
+						continue;
+					}
+					
+					entry = this.pollReadyEntry(victim.getReadyQueue(queuePriority), false);
+					if(entry != null) {
+						return entry;
+					}
+				}
+			}
+		}
+		return null;
+	}
+	
+	private @Nullable Entry pollReadyEntry(@NonNull Deque<Entry> readyQueue, boolean newestFirst) {
+		Entry entry;
+		while((entry = (newestFirst ? readyQueue.pollLast() : readyQueue.pollFirst())) != null) {
+			this.getReadyOperationCount().decrementAndGet();
+			
+			Operation operation = entry.getOperation();
+			if(operation.isReady()) {
+				return entry;
+			}
+			
+			if(!operation.isExecuting() && !operation.isFinished()) {
+				// A dependency has been added after the operation became ready: it goes back to waiting until the queue is notified again.
+				this.requeueEntry(entry);
+			}
+		}
+		return null;
+	}
+	
+	private void requeueEntry(@NonNull Entry entry) {
+		entry.setWaiting(true);
+		if(entry.getOperation().isReady()) {
+			this.enqueueReadyOperation(entry);
+		}
+	}
+	
 	// endregion
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	// region Methods - Operations
@@ -410,66 +719,51 @@ public class OperationQueue implements Operation.Observer
 			return;
 		}
 		
-		operations = new ArrayList<>(operations);
-		
-		List<Operation> invalidOperations = null;
+		List<Entry> entries = new ArrayList<>(operations.size());
 		for(Operation operation : operations) {
+			// Operations that already belong to a queue, or that can't be started anymore, are ignored.
 			if(operation.isExecuting() || operation.isFinished()) {
-				if(invalidOperations == null) {
-					invalidOperations = new ArrayList<>(operations.size());
-				}
-				invalidOperations.add(operation);
+				continue;
 			}
-		}
-		if(invalidOperations != null) {
-			operations.removeAll(invalidOperations);
-			if(operations.isEmpty()) {
-				return;
+			
+			Entry entry = new Entry(operation, this);
+			if(operation.setQueueEntryIfAbsent(entry)) {
+				entries.add(entry);
 			}
 		}
-		
-		Map<Operation.QueuePriority, List<Operation>> operationsByPriority = new HashMap<>();
-		for(Operation operation : operations) {
-			Operation.QueuePriority queuePriority = operation.getQueuePriority();
-			List<Operation> queue = operationsByPriority.get(operation.getQueuePriority());
-			if(queue == null) {
-				queue = new ArrayList<>(1);
-				operationsByPriority.put(queuePriority, queue);
-			}
-			queue.add(operation);
+		if(entries.isEmpty()) {
+			return;
 		}
 		
-		Map<Operation.QueuePriority, List<Operation>> queues = this.getQueues();
-		for(Operation.QueuePriority queuePriority : operationsByPriority.keySet()) {
-			List<Operation> newOperations = Objects.requireNonNull(operationsByPriority.get(queuePriority));
-			List<Operation> queue = Objects.requireNonNull(queues.get(queuePriority));
-			synchronized(queue) {
-				queue.addAll(newOperations);
+		this.getEntries().addAll(entries);
+		
+		for(Entry entry : entries) {
+			Operation operation = entry.getOperation();
+			operation.addObserver(this);
+			if(operation.isFinished()) {
+				this.operationIsFinished(operation);
 			}
 		}
 		
-		for(Operation operation : operations) {
-			operation.addObserver(this);
+		for(Entry entry : entries) {
+			if(entry.getOperation().isReady()) {
+				this.enqueueReadyOperation(entry);
+			}
 		}
 		
 		this.setNeedsStartWorkers();
 		
 		if(waitUntilFinished) {
-			for(Operation operation : operations) {
-				operation.waitUntilFinished();
+			for(Entry entry : entries) {
+				entry.getOperation().waitUntilFinished();
 			}
 		}
 	}
 	
 	public void cancelAllOperations() {
-		Map<Operation.QueuePriority, List<Operation>> queues = this.getQueues();
-		for(List<Operation> queue : queues.values()) {
-			synchronized(queue) {
-				for(Operation operation : queue) {
-					if(!operation.isFinished()) {
-						operation.cancel();
-					}
-				}
+		for(Operation operation : this.getOperations()) {
+			if(!operation.isFinished()) {
+				operation.cancel();
 			}
 		}
 	}
@@ -506,16 +800,197 @@ public class OperationQueue implements Operation.Observer
 	@Override public void operationIsFinished(@NonNull Operation sender) {
 		sender.removeObserver(this);
 		
-		Map<Operation.QueuePriority, List<Operation>> queues = this.getQueues();
-		for(List<Operation> queue : queues.values()) {
-			synchronized(queue) {
-				queue.remove(sender);
-			}
+		Entry entry = sender.getQueueEntry();
+		if((entry == null) || (entry.getQueue() != this)) {
+			return;
+		}
+		
+		entry.setWaiting(false);
+		this.getEntries().remove(entry);
+		sender.clearQueueEntry(entry);
+		
+		if(entry.compareAndSetHoldsSlot(true, false)) {
+			this.releaseSlot();
 		}
 	}
 	
 	@Override public void operationIsReady(@NonNull Operation sender) {
-		this.setNeedsStartWorkers();
+		Entry entry = sender.getQueueEntry();
+		if((entry != null) && (entry.getQueue() == this)) {
+			this.enqueueReadyOperation(entry);
+			this.setNeedsStartWorkers();
+		}
+	}
+	
+	// endregion
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	// region Classes
+	
+	static final class Entry
+	{
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Properties - Constants
+		
+		// Flags live in plain int fields, so queueing an operation doesn't allocate an atomic wrapper for each of them.
+		private static final @NonNull AtomicIntegerFieldUpdater<Entry> HOLDS_SLOT = AtomicIntegerFieldUpdater.newUpdater(Entry.class, "holdsSlot");
+		private static final @NonNull AtomicIntegerFieldUpdater<Entry> WAITING = AtomicIntegerFieldUpdater.newUpdater(Entry.class, "waiting");
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Properties
+		
+		private volatile int holdsSlot;
+		private @Nullable Entry next;
+		private final @NonNull Operation operation;
+		private @Nullable Entry previous;
+		private final @NonNull OperationQueue queue;
+		private volatile int waiting;
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Properties (Accessors)
+		
+		boolean compareAndSetHoldsSlot(boolean expectedValue, boolean newValue) {
+			return Entry.HOLDS_SLOT.compareAndSet(this, (expectedValue ? 1 : 0), (newValue ? 1 : 0));
+		}
+		
+		void setHoldsSlot(boolean holdsSlot) {
+			this.holdsSlot = (holdsSlot ? 1 : 0);
+		}
+		
+		@NonNull Operation getOperation() {
+			return this.operation;
+		}
+		
+		@NonNull OperationQueue getQueue() {
+			return this.queue;
+		}
+		
+		boolean compareAndSetWaiting(boolean expectedValue, boolean newValue) {
+			return Entry.WAITING.compareAndSet(this, (expectedValue ? 1 : 0), (newValue ? 1 : 0));
+		}
+		
+		void setWaiting(boolean waiting) {
+			this.waiting = (waiting ? 1 : 0);
+		}
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Methods - Memory
+		
+		Entry(@NonNull Operation operation, @NonNull OperationQueue queue) {
+			super();
+			
+			this.holdsSlot = 0;
+			this.next = null;
+			this.operation = operation;
+			this.previous = null;
+			this.queue = queue;
+			this.waiting = 1;
+		}
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+	}
+	
+	private static final class Worker
+	{
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Properties
+		
+		private final @NonNull OperationQueue queue;
+		private final @NonNull Map<Operation.QueuePriority, Deque<Entry>> readyQueues;
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Properties (Accessors)
+		
+		public @NonNull OperationQueue getQueue() {
+			return this.queue;
+		}
+		
+		public @NonNull Deque<Entry> getReadyQueue(@NonNull Operation.QueuePriority queuePriority) {
+			return Objects.requireNonNull(this.readyQueues.get(queuePriority));
+		}
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Methods - Memory
+		
+		public Worker(@NonNull OperationQueue queue) {
+			super();
+			
+			this.queue = queue;
+			this.readyQueues = OperationQueue.newReadyQueues();
+		}
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+	}
+	
+	private static final class EntryList
+	{
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Properties
+		
+		private int count;
+		private @Nullable Entry first;
+		private @Nullable Entry last;
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Properties (Accessors)
+		
+		public synchronized @NonNull List<Operation> getOperations() {
+			List<Operation> retObj = new ArrayList<>(this.count);
+			for(Entry entry = this.first; entry != null; entry = entry.next) {
+				retObj.add(entry.getOperation());
+			}
+			return retObj;
+		}
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Methods
+		
+		public synchronized void addAll(@NonNull List<Entry> entries) {
+			for(Entry entry : entries) {
+				entry.previous = this.last;
+				entry.next = null;
+				if(this.last == null) {
+					this.first = entry;
+				} else {
+					this.last.next = entry;
+				}
+				this.last = entry;
+				this.count++;
+			}
+		}
+		
+		public synchronized void remove(@NonNull Entry entry) {
+			Entry next = entry.next;
+			Entry previous = entry.previous;
+			if((previous == null) && (next == null) && (this.first != entry)) {
+				return;
+			}
+			
+			if(previous == null) {
+				this.first = next;
+			} else {
+				previous.next = next;
+			}
+			if(next == null) {
+				this.last = previous;
+			} else {
+				next.previous = previous;
+			}
+			entry.next = null;
+			entry.previous = null;
+			this.count--;
+		}
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
 	}
 	
 	// endregion
@@ -0,0 +1,366 @@
+//
+//	The MIT License (MIT)
+//
+//	Copyright © 2017-2024 Jacopo Filié
+//
+//	Permission is hereby granted, free of charge, to any person obtaining a copy
+//	of this software and associated documentation files (the "Software"), to deal
+//	in the Software without restriction, including without limitation the rights
+//	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//	copies of the Software, and to permit persons to whom the Software is
+//	furnished to do so, subject to the following conditions:
+//
+//	The above copyright notice and this permission notice shall be included in all
+//	copies or substantial portions of the Software.
+//
+//	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//	SOFTWARE.
+//
+
+package com.jackfelle.jfkit.core.operations;
+
+import com.jackfelle.jfkit.data.Blocks;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+public class ResultOperation <T> extends Operation implements Future<T>
+{
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	// region Properties - Execution
+	
+	private boolean cancelRequested;
+	private final @Nullable ResultBlock<T> resultBlock;
+	
+	// endregion
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	// region Properties - Result
+	
+	private @Nullable Throwable error;
+	private @Nullable T result;
+	
+	// endregion
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	// region Properties (Accessors) - Execution
+	
+	protected @Nullable ResultBlock<T> getResultBlock() {
+		return this.resultBlock;
+	}
+	
+	// endregion
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	// region Properties (Accessors) - Result
+	
+	public synchronized @Nullable Throwable getError() {
+		return this.error;
+	}
+	
+	protected synchronized void setError(@Nullable Throwable error) {
+		this.error = error;
+	}
+	
+	public synchronized @Nullable T getResult() {
+		return this.result;
+	}
+	
+	protected synchronized void setResult(@Nullable T result) {
+		this.result = result;
+	}
+	
+	// endregion
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	// region Methods - Memory
+	
+	protected ResultOperation() {
+		this(null);
+	}
+	
+	public ResultOperation(@Nullable ResultBlock<T> resultBlock) {
+		super();
+		
+		// Execution
+		this.cancelRequested = false;
+		this.resultBlock = resultBlock;
+		
+		// Result
+		this.error = null;
+		this.result = null;
+	}
+	
+	// endregion
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	// region Methods - Execution
+	
+	@Override public void cancel() {
+		super.cancel();
+		
+		// Callers of get() are done waiting as soon as the operation is canceled.
+		synchronized(this) {
+			this.notifyAll();
+		}
+	}
+	
+	@Override protected void main() {
+		ResultBlock<T> resultBlock = this.getResultBlock();
+		if(resultBlock == null) {
+			return;
+		}
+		
+		try {
+			this.setResult(resultBlock.execute());
+		} catch(Throwable e) {
+			this.setError(e);
+		}
+	}
+	
+	// endregion
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	// region Methods - Continuations
+	
+	public <R> @NonNull ResultOperation<R> thenApply(@NonNull OperationQueue queue, @NonNull TransformBlock<T, R> transformBlock) {
+		ResultOperation<R> retObj = new ResultOperation<>(() -> transformBlock.execute(this.getResultOrThrow()));
+		retObj.addDependency(this);
+		queue.addOperation(retObj);
+		return retObj;
+	}
+	
+	public <R> @NonNull ResultOperation<R> thenCompose(@NonNull OperationQueue queue, @NonNull ComposeBlock<T, R> composeBlock) {
+		// Nothing holds a slot of the queue while the inner operation runs: the returned operation just depends on it, so serial queues can't deadlock.
+		ComposedResultOperation<R> retObj = new ComposedResultOperation<>();
+		BlockOperation operation = new BlockOperation(() -> retObj.compose(queue, () -> composeBlock.execute(this.getResultOrThrow())));
+		operation.addDependency(this);
+		retObj.addDependency(operation);
+		queue.addOperation(operation);
+		queue.addOperation(retObj);
+		return retObj;
+	}
+	
+	public void whenComplete(@NonNull OperationQueue queue, @NonNull Blocks.CompletionBlock<T> completionBlock) {
+		BlockOperation operation = new BlockOperation(() -> {
+			Throwable error;
+			T result;
+			try {
+				result = this.getResultOrThrow();
+				error = null;
+			} catch(Throwable e) {
+				result = null;
+				error = e;
+			}
+			completionBlock.execute((error == null), result, error);
+		});
+		operation.addDependency(this);
+		queue.addOperation(operation);
+	}
+	
+	// endregion
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	// region Methods - Utilities
+	
+	protected @Nullable T getResultOrThrow() throws Exception {
+		Throwable error;
+		T result;
+		synchronized(this) {
+			error = this.error;
+			result = this.result;
+		}
+		
+		// Errors are rethrown as they are, so that a chain of continuations doesn't wrap them once per stage.
+		if(error instanceof Exception) {
+			throw (Exception)error;
+		}
+		if(error instanceof java.lang.Error) {
+			throw (java.lang.Error)error;
+		}
+		if(error != null) {
+			throw new ExecutionException(error);
+		}
+		if(this.isCanceled() && (result == null)) {
+			throw new CancellationException();
+		}
+		return result;
+	}
+	
+	// endregion
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	// region Methods (Future)
+	
+	@Override public boolean cancel(boolean mayInterruptIfRunning) {
+		// Operations are canceled cooperatively: a running main() is never interrupted and may check isCanceled() to stop early.
+		synchronized(this) {
+			if(this.cancelRequested || this.isCanceled() || this.isFinished()) {
+				return false;
+			}
+			
+			this.cancelRequested = true;
+		}
+		
+		this.cancel();
+		return true;
+	}
+	
+	@Override public @Nullable T get() throws ExecutionException, InterruptedException {
+		synchronized(this) {
+			while(!this.isDone()) {
+				this.wait();
+			}
+		}
+		return this.getFinishedResult();
+	}
+	
+	@Override public @Nullable T get(long timeout, @NonNull TimeUnit unit) throws ExecutionException, InterruptedException, TimeoutException {
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		synchronized(this) {
+			while(!this.isDone()) {
+				long remaining = deadline - System.nanoTime();
+				if(remaining <= 0) {
+					throw new TimeoutException();
+				}
+				TimeUnit.NANOSECONDS.timedWait(this, remaining);
+			}
+		}
+		return this.getFinishedResult();
+	}
+	
+	private @Nullable T getFinishedResult() throws ExecutionException {
+		try {
+			return this.getResultOrThrow();
+		} catch(CancellationException e) {
+			throw e;
+		} catch(Throwable e) {
+			throw new ExecutionException(e);
+		}
+	}
+	
+	@Override public boolean isCancelled() {
+		return this.isCanceled();
+	}
+	
+	@Override public boolean isDone() {
+		// A canceled operation is done as soon as it is canceled, even if its queue hasn't finished it yet.
+		return (this.isFinished() || this.isCanceled());
+	}
+	
+	// endregion
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	// region Interfaces
+	
+	public interface ComposeBlock <T, R>
+	{
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Methods - Data
+		
+		@NonNull ResultOperation<R> execute(@Nullable T result) throws Exception;
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+	}
+	
+	public interface ResultBlock <T>
+	{
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Methods - Data
+		
+		@Nullable T execute() throws Exception;
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+	}
+	
+	public interface TransformBlock <T, R>
+	{
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Methods - Data
+		
+		@Nullable R execute(@Nullable T result) throws Exception;
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+	}
+	
+	// endregion
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	// region Classes
+	
+	private static class ComposedResultOperation <R> extends ResultOperation<R>
+	{
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Properties
+		
+		private @Nullable ResultOperation<R> inner;
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Methods - Memory
+		
+		public ComposedResultOperation() {
+			super();
+			
+			this.inner = null;
+		}
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Methods - Execution
+		
+		void compose(@NonNull OperationQueue queue, @NonNull ResultBlock<ResultOperation<R>> innerBlock) {
+			ResultOperation<R> inner;
+			try {
+				inner = innerBlock.execute();
+			} catch(Throwable e) {
+				this.setError(e);
+				return;
+			}
+			
+			if(inner == null) {
+				return;
+			}
+			
+			// This runs before the composing operation finishes, so this operation can't have become ready yet.
+			synchronized(this) {
+				this.inner = inner;
+			}
+			this.addDependency(inner);
+			
+			if(!inner.isExecuting() && !inner.isFinished() && (inner.getQueueEntry() == null)) {
+				queue.addOperation(inner);
+			}
+		}
+		
+		@Override protected void main() {
+			ResultOperation<R> inner;
+			synchronized(this) {
+				if(this.getError() != null) {
+					return;
+				}
+				
+				inner = this.inner;
+			}
+			if(inner == null) {
+				return;
+			}
+			
+			try {
+				this.setResult(inner.getResultOrThrow());
+			} catch(Throwable e) {
+				this.setError(e);
+			}
+		}
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+	}
+	
+	// endregion
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+}
@@ -29,31 +29,37 @@ import android.os.Build;
 import android.util.Log;
 
 import com.jackfelle.jfkit.BuildConfig;
+import com.jackfelle.jfkit.data.Blocks;
 import com.jackfelle.jfkit.data.Strings;
+import com.jackfelle.jfkit.utilities.Lazy;
 import com.jackfelle.jfkit.utilities.ObserversController;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.lang.ref.WeakReference;
 import java.nio.file.Files;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.text.DateFormat;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Calendar;
-import java.util.Collections;
 import java.util.Date;
 import java.util.EnumSet;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 import java.util.TimeZone;
+import java.util.Timer;
+import java.util.TimerTask;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 public class Logger
 {
@@ -67,6 +73,26 @@ public class Logger
 	public static final @NonNull String FORMAT_THREAD_ID = "%5$@";
 	public static final @NonNull String FORMAT_TIME = "%6$@";
 	
+	// endregion
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	// region Constants - Format
+	
+	private static final int FORMAT_BUILDER_MAX_CAPACITY = 16384;
+	private static final @NonNull ThreadLocal<StringBuilder> FORMAT_BUILDER = new ThreadLocal<StringBuilder>()
+	{
+		@Override protected @NonNull StringBuilder initialValue() {
+			return new StringBuilder(256);
+		}
+	};
+	
+	// endregion
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	// region Constants - File system
+	
+	private static final int FILE_BUFFER_SIZE = 8192;
+	private static final long FILE_FLUSH_DELAY = 1000;
+	private static final @NonNull Lazy<Timer> FLUSH_TIMER = Lazy.newSynchronizedInstance(() -> new Timer(Logger.class.getSimpleName() + ".flush", true));
+	
 	// endregion
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	// region Types
@@ -90,6 +116,13 @@ public class Logger
 		}
 	}
 	
+	public enum OverflowPolicy
+	{
+		BLOCK,
+		DROP_DEBUG_FIRST,
+		DROP_OLDEST,
+	}
+	
 	public enum Rotation
 	{
 		NONE(0),
@@ -248,24 +281,43 @@ public class Logger
 		void logMessage(@NonNull Logger sender, @NonNull String message, @NonNull Date date);
 	}
 	
+	// endregion
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	// region Properties - Asynchronous
+	
+	private long droppedEventCount;
+	private volatile @Nullable EventBuffer eventBuffer;
+	
 	// endregion
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	// region Properties - Data
 	
-	private WeakReference<Context> context;
-	private DateFormat dateFormat;
-	private String format;
-	private EnumSet<Output> outputFilter;
-	private List<String> requestedFormatValues;
-	private Severity severityFilter;
-	private DateFormat timeFormat;
+	// Read on every line without locking: setters publish new values, and only lazily created defaults take the lock.
+	private volatile WeakReference<Context> context;
+	private volatile DateFormat dateFormat;
+	private volatile @Nullable CompiledFormat compiledFormat;
+	private volatile @Nullable TimestampRenderer dateRenderer;
+	private volatile String format;
+	private volatile EnumSet<Output> outputFilter;
+	private volatile Severity severityFilter;
+	private volatile DateFormat timeFormat;
+	private volatile @Nullable TimestampRenderer timeRenderer;
 	
 	// endregion
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	// region Properties - File system
 	
-	private String fileName;
-	private Rotation rotation;
+	// Guards the writer and its state, so that writing and flushing never hold the logger's own lock.
+	private final @NonNull Object fileLock;
+	
+	private @Nullable TimerTask fileFlushTask;
+	private volatile String fileName;
+	private @Nullable File fileOpened;
+	private long filePeriodEnd;
+	private long filePeriodStart;
+	private int fileUnflushedLength;
+	private @Nullable Writer fileWriter;
+	private volatile Rotation rotation;
 	
 	// endregion
 	////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -273,6 +325,25 @@ public class Logger
 	
 	private final @NonNull ObserversController<Delegate> observers;
 	
+	// endregion
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	// region Properties (Accessors) - Asynchronous
+	
+	public long getDroppedEventCount() {
+		synchronized(this) {
+			EventBuffer buffer = this.eventBuffer;
+			return (this.droppedEventCount + ((buffer == null) ? 0 : buffer.getDroppedCount()));
+		}
+	}
+	
+	private @Nullable EventBuffer getEventBuffer() {
+		return this.eventBuffer;
+	}
+	
+	public boolean isAsynchronous() {
+		return (this.getEventBuffer() != null);
+	}
+	
 	// endregion
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	// region Properties (Accessors) - Data
@@ -282,25 +353,42 @@ public class Logger
 	}
 	
 	public Context getContext() {
-		synchronized(this) {
-			return ((this.context != null) ? this.context.get() : null);
-		}
+		WeakReference<Context> context = this.context;
+		return ((context != null) ? context.get() : null);
 	}
 	
 	public void setContext(Context context) {
-		synchronized(this) {
-			WeakReference<Context> reference = null;
+		WeakReference<Context> reference = null;
+		if(context != null) {
+			context = context.getApplicationContext();
 			if(context != null) {
-				context = context.getApplicationContext();
-				if(context != null) {
-					reference = new WeakReference<>(context);
-				}
+				reference = new WeakReference<>(context);
+			}
+		}
+		this.context = reference;
+	}
+	
+	private @NonNull CompiledFormat getCompiledFormat() {
+		CompiledFormat retObj = this.compiledFormat;
+		if(retObj != null) {
+			return retObj;
+		}
+		
+		synchronized(this) {
+			if(this.compiledFormat == null) {
+				this.compiledFormat = new CompiledFormat(this.getFormat());
 			}
-			this.context = reference;
+			return this.compiledFormat;
 		}
 	}
 	
 	public @NonNull DateFormat getDateFormat() {
+		// Lines are rendered with a copy taken by setDateFormat: changes made in place to the returned format only show up once it is set again.
+		DateFormat retObj = this.dateFormat;
+		if(retObj != null) {
+			return retObj;
+		}
+		
 		synchronized(this) {
 			if(this.dateFormat == null) {
 				DateFormat dateFormat = new SimpleDateFormat("yyyy/MM/dd", Locale.getDefault());
@@ -311,13 +399,33 @@ public class Logger
 		}
 	}
 	
+	private @NonNull TimestampRenderer getDateRenderer() {
+		TimestampRenderer retObj = this.dateRenderer;
+		if(retObj != null) {
+			return retObj;
+		}
+		
+		synchronized(this) {
+			if(this.dateRenderer == null) {
+				this.dateRenderer = new TimestampRenderer(this.getDateFormat());
+			}
+			return this.dateRenderer;
+		}
+	}
+	
 	public void setDateFormat(DateFormat dateFormat) {
 		synchronized(this) {
 			this.dateFormat = dateFormat;
+			this.dateRenderer = ((dateFormat == null) ? null : new TimestampRenderer(dateFormat));
 		}
 	}
 	
 	public @NonNull String getFormat() {
+		String retObj = this.format;
+		if(retObj != null) {
+			return retObj;
+		}
+		
 		synchronized(this) {
 			if(this.format == null) {
 				this.format = String.format(Locale.US, "%s %s [%s:%s] %s", Logger.FORMAT_DATE, Logger.FORMAT_TIME, Logger.FORMAT_PROCESS_ID, Logger.FORMAT_THREAD_ID, Logger.FORMAT_MESSAGE);
@@ -329,61 +437,33 @@ public class Logger
 	public void setFormat(String format) {
 		synchronized(this) {
 			this.format = format;
-			this.setRequestedFormatValues(null);
+			this.compiledFormat = null;
 		}
 	}
 	
 	public @NonNull EnumSet<Output> getOutputFilter() {
-		synchronized(this) {
-			return this.outputFilter;
-		}
+		return this.outputFilter;
 	}
 	
 	public void setOutputFilter(@NonNull EnumSet<Output> outputFilter) {
-		synchronized(this) {
-			this.outputFilter = outputFilter;
-		}
-	}
-	
-	private @NonNull List<String> getRequestedFormatValues() {
-		synchronized(this) {
-			if(this.requestedFormatValues == null) {
-				String[] possibleValues = new String[] {Logger.FORMAT_DATE, Logger.FORMAT_MESSAGE, Logger.FORMAT_PROCESS_ID, Logger.FORMAT_SEVERITY, Logger.FORMAT_THREAD_ID, Logger.FORMAT_TIME};
-				
-				String format = this.getFormat();
-				
-				List<String> requestedValues = new ArrayList<>(possibleValues.length);
-				for(String value : possibleValues) {
-					if(format.contains(value)) {
-						requestedValues.add(value);
-					}
-				}
-				
-				this.requestedFormatValues = Collections.unmodifiableList(requestedValues);
-			}
-			return this.requestedFormatValues;
-		}
-	}
-	
-	private void setRequestedFormatValues(List<String> requestedFormatValues) {
-		synchronized(this) {
-			this.requestedFormatValues = requestedFormatValues;
-		}
+		this.outputFilter = outputFilter;
 	}
 	
 	public @NonNull Severity getSeverityFilter() {
-		synchronized(this) {
-			return this.severityFilter;
-		}
+		return this.severityFilter;
 	}
 	
 	public void setSeverityFilter(@NonNull Severity severityFilter) {
-		synchronized(this) {
-			this.severityFilter = severityFilter;
-		}
+		this.severityFilter = severityFilter;
 	}
 	
 	public @NonNull DateFormat getTimeFormat() {
+		// Same as getDateFormat: changes made in place need a call to setTimeFormat.
+		DateFormat retObj = this.timeFormat;
+		if(retObj != null) {
+			return retObj;
+		}
+		
 		synchronized(this) {
 			if(this.timeFormat == null) {
 				DateFormat timeFormat = new SimpleDateFormat("HH:mm:ss.SSSZ", Locale.getDefault());
@@ -394,9 +474,24 @@ public class Logger
 		}
 	}
 	
+	private @NonNull TimestampRenderer getTimeRenderer() {
+		TimestampRenderer retObj = this.timeRenderer;
+		if(retObj != null) {
+			return retObj;
+		}
+		
+		synchronized(this) {
+			if(this.timeRenderer == null) {
+				this.timeRenderer = new TimestampRenderer(this.getTimeFormat());
+			}
+			return this.timeRenderer;
+		}
+	}
+	
 	public void setTimeFormat(DateFormat timeFormat) {
 		synchronized(this) {
 			this.timeFormat = timeFormat;
+			this.timeRenderer = ((timeFormat == null) ? null : new TimestampRenderer(timeFormat));
 		}
 	}
 	
@@ -405,6 +500,11 @@ public class Logger
 	// region Properties (Accessors) - File system
 	
 	public @NonNull String getFileName() {
+		String retObj = this.fileName;
+		if(retObj != null) {
+			return retObj;
+		}
+		
 		synchronized(this) {
 			if(this.fileName == null) {
 				this.fileName = "Log.log";
@@ -414,21 +514,17 @@ public class Logger
 	}
 	
 	public void setFileName(String fileName) {
-		synchronized(this) {
-			this.fileName = fileName;
-		}
+		this.fileName = fileName;
+		this.closeFileWriter();
 	}
 	
 	public @NonNull Rotation getRotation() {
-		synchronized(this) {
-			return this.rotation;
-		}
+		return this.rotation;
 	}
 	
 	public void setRotation(@NonNull Rotation rotation) {
-		synchronized(this) {
-			this.rotation = rotation;
-		}
+		this.rotation = rotation;
+		this.closeFileWriter();
 	}
 	
 	// endregion
@@ -446,6 +542,7 @@ public class Logger
 	public Logger() {
 		super();
 		
+		this.fileLock = new Object();
 		this.observers = new ObserversController<>();
 		this.outputFilter = Output.ALL;
 		this.rotation = Rotation.NONE;
@@ -461,13 +558,6 @@ public class Logger
 		return ((context == null) ? null : this.fileForDate(new Date(), context));
 	}
 	
-	private @NonNull String dateStringFromDate(@NonNull Date date) {
-		DateFormat dateFormat = this.getDateFormat();
-		synchronized(dateFormat) {
-			return dateFormat.format(date);
-		}
-	}
-	
 	private @NonNull File fileForDate(@NonNull Date date, @NonNull Context context) {
 		File folder = Logger.getDefaultDirectory(context);
 		String fileName = this.getFileName();
@@ -519,13 +609,6 @@ public class Logger
 		return new File(folder, fileName);
 	}
 	
-	private @NonNull String timeStringFromDate(@NonNull Date date) {
-		DateFormat timeFormat = this.getTimeFormat();
-		synchronized(timeFormat) {
-			return timeFormat.format(date);
-		}
-	}
-	
 	// endregion
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	// region Methods - File system management
@@ -572,6 +655,173 @@ public class Logger
 		return true;
 	}
 	
+	public void close() {
+		this.closeFileWriter();
+	}
+	
+	private void closeFileWriter() {
+		synchronized(this.fileLock) {
+			this.flush();
+			
+			Writer writer = this.fileWriter;
+			File file = this.fileOpened;
+			this.fileOpened = null;
+			this.filePeriodEnd = 0;
+			this.filePeriodStart = 0;
+			this.fileWriter = null;
+			if(writer == null) {
+				return;
+			}
+			
+			try {
+				writer.close();
+			} catch(IOException e) {
+				String tagsString = Tags.stringFromTags(EnumSet.of(Tags.ERROR, Tags.FILE_SYSTEM));
+				Log.e("", String.format(Locale.US, "Failed to close output stream for log file at path '%s'. %s", ((file == null) ? "" : file.getPath()), tagsString), e);
+			}
+		}
+	}
+	
+	public void flush() {
+		synchronized(this.fileLock) {
+			TimerTask task = this.fileFlushTask;
+			if(task != null) {
+				task.cancel();
+				this.fileFlushTask = null;
+			}
+			
+			this.fileUnflushedLength = 0;
+			
+			Writer writer = this.fileWriter;
+			if(writer == null) {
+				return;
+			}
+			
+			try {
+				writer.flush();
+			} catch(IOException e) {
+				String tagsString = Tags.stringFromTags(EnumSet.of(Tags.ERROR, Tags.FILE_SYSTEM));
+				Log.e("", String.format(Locale.US, "Failed to flush output stream for log file at path '%s'. %s", ((this.fileOpened == null) ? "" : this.fileOpened.getPath()), tagsString), e);
+			}
+		}
+	}
+	
+	private @Nullable Writer getFileWriter(@NonNull Context context, long currentTime) {
+		synchronized(this.fileLock) {
+			// The open writer is reused until the current time leaves its rotation period: file names and file attributes are only looked at when that happens.
+			Writer retObj = this.fileWriter;
+			if((retObj != null) && (currentTime >= this.filePeriodStart) && (currentTime < this.filePeriodEnd)) {
+				return retObj;
+			}
+			
+			this.closeFileWriter();
+			
+			// The period may be shorter than the one of the file (e.g. around a DST change): crossing its bounds only reopens the same file.
+			Rotation rotation = this.getRotation();
+			long periodEnd = Logger.rotationPeriodEnd(currentTime, rotation);
+			long periodStart = Logger.rotationPeriodStart(currentTime, rotation);
+			
+			Date currentDate = new Date(currentTime);
+			File file = this.fileForDate(currentDate, context);
+			if(!this.createFile(file, currentDate)) {
+				String tagsString = Tags.stringFromTags(EnumSet.of(Tags.ERROR, Tags.FILE_SYSTEM));
+				Log.e("", String.format(Locale.US, "Failed to create log file at path '%s'. %s", file.getPath(), tagsString));
+				return null;
+			}
+			
+			FileOutputStream outputStream;
+			try {
+				outputStream = new FileOutputStream(file, true);
+			} catch(FileNotFoundException e) {
+				String tagsString = Tags.stringFromTags(EnumSet.of(Tags.ERROR, Tags.FILE_SYSTEM));
+				Log.e("", String.format(Locale.US, "Failed to open output stream for log file at path '%s'. %s", file.getPath(), tagsString), e);
+				return null;
+			}
+			
+			retObj = new BufferedWriter(new OutputStreamWriter(outputStream), Logger.FILE_BUFFER_SIZE);
+			this.fileOpened = file;
+			this.filePeriodEnd = periodEnd;
+			this.filePeriodStart = periodStart;
+			this.fileWriter = retObj;
+			return retObj;
+		}
+	}
+	
+	static long rotationPeriodEnd(long time, @NonNull Rotation rotation) {
+		// Boundaries are resolved from calendar fields instead of added durations, so that they stay right across DST changes.
+		Calendar calendar = Calendar.getInstance();
+		calendar.setTimeInMillis(time);
+		switch(rotation) {
+			case HOUR: {
+				// A repeated hour resolves to its last occurrence, so the end of the current hour is also computed from its minutes.
+				long end = time + 60 * 60 * 1000 - ((calendar.get(Calendar.MINUTE) * 60 + calendar.get(Calendar.SECOND)) * 1000 + calendar.get(Calendar.MILLISECOND));
+				calendar.set(Calendar.HOUR_OF_DAY, calendar.get(Calendar.HOUR_OF_DAY) + 1);
+				Logger.truncateRotationCalendar(calendar, rotation);
+				return Math.min(calendar.getTimeInMillis(), end);
+			}
+			case DAY: {
+				calendar.set(Calendar.DAY_OF_MONTH, calendar.get(Calendar.DAY_OF_MONTH) + 1);
+				break;
+			}
+			case WEEK: {
+				// The file suffix is the week of the month, so a week that spans two months ends with the month.
+				int days = 7 - (calendar.get(Calendar.DAY_OF_WEEK) - calendar.getFirstDayOfWeek() + 7) % 7;
+				int day = Math.min(calendar.get(Calendar.DAY_OF_MONTH) + days, calendar.getActualMaximum(Calendar.DAY_OF_MONTH) + 1);
+				calendar.set(Calendar.DAY_OF_MONTH, day);
+				break;
+			}
+			case MONTH: {
+				calendar.set(Calendar.DAY_OF_MONTH, 1);
+				calendar.set(Calendar.MONTH, calendar.get(Calendar.MONTH) + 1);
+				break;
+			}
+			default: {
+				// Without rotation an existing file is still replaced once it belongs to a previous year.
+				calendar.set(Calendar.DAY_OF_YEAR, 1);
+				calendar.set(Calendar.YEAR, calendar.get(Calendar.YEAR) + 1);
+				break;
+			}
+		}
+		Logger.truncateRotationCalendar(calendar, rotation);
+		return calendar.getTimeInMillis();
+	}
+	
+	static long rotationPeriodStart(long time, @NonNull Rotation rotation) {
+		Calendar calendar = Calendar.getInstance();
+		calendar.setTimeInMillis(time);
+		switch(rotation) {
+			case WEEK: {
+				int days = (calendar.get(Calendar.DAY_OF_WEEK) - calendar.getFirstDayOfWeek() + 7) % 7;
+				calendar.set(Calendar.DAY_OF_MONTH, Math.max(calendar.get(Calendar.DAY_OF_MONTH) - days, 1));
+				break;
+			}
+			case MONTH: {
+				calendar.set(Calendar.DAY_OF_MONTH, 1);
+				break;
+			}
+			case NONE: {
+				calendar.set(Calendar.DAY_OF_YEAR, 1);
+				break;
+			}
+			default: {
+				break;
+			}
+		}
+		Logger.truncateRotationCalendar(calendar, rotation);
+		
+		// Ambiguous local times may resolve after the given time: the period then starts at the given time.
+		return Math.min(calendar.getTimeInMillis(), time);
+	}
+	
+	private static void truncateRotationCalendar(@NonNull Calendar calendar, @NonNull Rotation rotation) {
+		if(rotation != Rotation.HOUR) {
+			calendar.set(Calendar.HOUR_OF_DAY, 0);
+		}
+		calendar.set(Calendar.MINUTE, 0);
+		calendar.set(Calendar.SECOND, 0);
+		calendar.set(Calendar.MILLISECOND, 0);
+	}
+	
 	private boolean validateFileCreationDate(@NonNull Date creationDate, @NonNull Date currentDate) {
 		Calendar creationCalendar = Calendar.getInstance();
 		creationCalendar.setTime(creationDate);
@@ -624,6 +874,34 @@ public class Logger
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	// region Methods - Service management
 	
+	public void startAsynchronousLogging(int capacity, @NonNull OverflowPolicy overflowPolicy) {
+		synchronized(this) {
+			if(this.eventBuffer != null) {
+				return;
+			}
+			
+			this.eventBuffer = new EventBuffer(this::logEvent, capacity, overflowPolicy);
+		}
+	}
+	
+	public void stopAsynchronousLogging() {
+		EventBuffer buffer;
+		synchronized(this) {
+			buffer = this.eventBuffer;
+			this.eventBuffer = null;
+		}
+		
+		// Pending events are written before returning.
+		if(buffer != null) {
+			buffer.stop();
+			this.flush();
+			
+			synchronized(this) {
+				this.droppedEventCount += buffer.getDroppedCount();
+			}
+		}
+	}
+	
 	public void log(@NonNull String sender, @NonNull String message, @NonNull EnumSet<Output> output, @NonNull Severity severity) {
 		this.log(sender, message, output, severity, Tags.NONE);
 	}
@@ -660,51 +938,36 @@ public class Logger
 			}
 		}
 		
-		String format;
-		List<String> requestedFormatValues;
-		synchronized(this) {
-			format = this.getFormat();
-			requestedFormatValues = this.getRequestedFormatValues();
-		}
-		
-		Map<String, String> values = new HashMap<>(requestedFormatValues.size());
-		
-		// Converts the severity level to string.
-		if(requestedFormatValues.contains(Logger.FORMAT_SEVERITY)) {
-			values.put(Logger.FORMAT_SEVERITY, Severity.stringFromSeverity(severity));
-		}
-		
-		// Gets the current process ID.
-		if(requestedFormatValues.contains(Logger.FORMAT_PROCESS_ID)) {
-			values.put(Logger.FORMAT_PROCESS_ID, Integer.toString(android.os.Process.myPid()));
-		}
-		
-		// Gets the current thread ID.
-		if(requestedFormatValues.contains(Logger.FORMAT_THREAD_ID)) {
-			values.put(Logger.FORMAT_THREAD_ID, Integer.toString(android.os.Process.myTid()));
-		}
-		
-		// Gets the current date.
-		if(requestedFormatValues.contains(Logger.FORMAT_DATE)) {
-			values.put(Logger.FORMAT_DATE, this.dateStringFromDate(currentDate));
-		}
-		
-		// Gets the current time.
-		if(requestedFormatValues.contains(Logger.FORMAT_TIME)) {
-			values.put(Logger.FORMAT_TIME, this.timeStringFromDate(currentDate));
-		}
+		// Gets the current thread ID, which can only be read here.
+		int threadID = (this.getCompiledFormat().containsThreadID() ? android.os.Process.myTid() : 0);
 		
-		// Gets the message.
-		if(requestedFormatValues.contains(Logger.FORMAT_MESSAGE)) {
-			values.put(Logger.FORMAT_MESSAGE, message);
+		EventBuffer buffer = this.getEventBuffer();
+		if((buffer != null) && buffer.publish(sender, message, severity, currentDate.getTime(), threadID, shouldLogToDelegates, shouldLogToFile)) {
+			return;
 		}
 		
+		this.logMessage(sender, message, severity, currentDate, threadID, shouldLogToDelegates, shouldLogToFile);
+	}
+	
+	public void log(@NonNull String sender, @NonNull String message, @NonNull Severity severity) {
+		this.log(sender, message, Output.ALL, severity, Tags.NONE);
+	}
+	
+	public void log(@NonNull String sender, @NonNull String message, @NonNull Severity severity, @NonNull EnumSet<Tags> tags) {
+		this.log(sender, message, Output.ALL, severity, tags);
+	}
+	
+	private void logEvent(@NonNull Event event) {
+		this.logMessage(event.sender, event.message, event.severity, new Date(event.time), event.threadID, event.shouldLogToDelegates, event.shouldLogToFile);
+	}
+	
+	private void logMessage(@NonNull String sender, @NonNull String message, @NonNull Severity severity, @NonNull Date currentDate, int threadID, boolean shouldLogToDelegates, boolean shouldLogToFile) {
 		// Prepares the log string.
-		String logMessage = Strings.newStringByReplacingKeysInFormat(format, values);
+		String logMessage = this.newLogMessage(this.getCompiledFormat(), message, severity, currentDate, threadID);
 		
 		// Logs to file if needed.
 		if(shouldLogToFile) {
-			this.logToFile(sender, logMessage, currentDate);
+			this.logToFile(sender, logMessage, severity, currentDate);
 		}
 		
 		// Forwards the log message to the registered delegates if needed.
@@ -713,12 +976,50 @@ public class Logger
 		}
 	}
 	
-	public void log(@NonNull String sender, @NonNull String message, @NonNull Severity severity) {
-		this.log(sender, message, Output.ALL, severity, Tags.NONE);
-	}
-	
-	public void log(@NonNull String sender, @NonNull String message, @NonNull Severity severity, @NonNull EnumSet<Tags> tags) {
-		this.log(sender, message, Output.ALL, severity, tags);
+	private @NonNull String newLogMessage(@NonNull CompiledFormat format, @NonNull String message, @NonNull Severity severity, @NonNull Date currentDate, int threadID) {
+		StringBuilder builder = Logger.FORMAT_BUILDER.get();
+		if(builder.capacity() > Logger.FORMAT_BUILDER_MAX_CAPACITY) {
+			builder = new StringBuilder(256);
+			Logger.FORMAT_BUILDER.set(builder);
+		}
+		builder.setLength(0);
+		
+		int[] fields = format.getFields();
+		String[] literals = format.getLiterals();
+		long time = currentDate.getTime();
+		for(int i = 0; i < fields.length; i++) {
+			switch(fields[i]) {
+				case CompiledFormat.FIELD_DATE: {
+					this.getDateRenderer().append(builder, time);
+					break;
+				}
+				case CompiledFormat.FIELD_MESSAGE: {
+					builder.append(message);
+					break;
+				}
+				case CompiledFormat.FIELD_PROCESS_ID: {
+					builder.append(android.os.Process.myPid());
+					break;
+				}
+				case CompiledFormat.FIELD_SEVERITY: {
+					builder.append(Severity.stringFromSeverity(severity));
+					break;
+				}
+				case CompiledFormat.FIELD_THREAD_ID: {
+					builder.append(threadID);
+					break;
+				}
+				case CompiledFormat.FIELD_TIME: {
+					this.getTimeRenderer().append(builder, time);
+					break;
+				}
+				default: {
+					builder.append(literals[i]);
+					break;
+				}
+			}
+		}
+		return builder.toString();
 	}
 	
 	private void logToConsole(@NonNull String sender, @NonNull String message, @NonNull Severity severity, @NonNull Date currentDate) {
@@ -746,45 +1047,42 @@ public class Logger
 		}
 	}
 	
-	private void logToFile(@NonNull String sender, @NonNull String message, @NonNull Date currentDate) {
+	void logToFile(@NonNull String sender, @NonNull String message, @NonNull Severity severity, @NonNull Date currentDate) {
 		Context context = this.getContext();
 		if(context == null) {
 			return;
 		}
 		
-		File file = this.fileForDate(currentDate, context);
-		synchronized(this) {
-			if(!this.createFile(file, currentDate)) {
-				String tagsString = Tags.stringFromTags(EnumSet.of(Tags.ERROR, Tags.FILE_SYSTEM));
-				Log.e("", String.format(Locale.US, "Failed to create log file at path '%s'. %s", file.getPath(), tagsString));
+		synchronized(this.fileLock) {
+			Writer writer = this.getFileWriter(context, currentDate.getTime());
+			if(writer == null) {
 				return;
 			}
+			File file = this.fileOpened;
 			
-			FileOutputStream outputStream;
-			try {
-				outputStream = new FileOutputStream(file, true);
-			} catch(FileNotFoundException e) {
-				String tagsString = Tags.stringFromTags(EnumSet.of(Tags.ERROR, Tags.FILE_SYSTEM));
-				Log.e("", String.format(Locale.US, "Failed to open output stream for log file at path '%s'. %s", file.getPath(), tagsString), e);
-				return;
-			}
-			
-			OutputStreamWriter writer = new OutputStreamWriter(outputStream);
 			try {
 				writer.write(message);
 				writer.write("\n");
-				writer.flush();
 			} catch(IOException e) {
 				String tagsString = Tags.stringFromTags(EnumSet.of(Tags.ERROR, Tags.FILE_SYSTEM));
-				Log.e("", String.format(Locale.US, "Failed to write to output stream for log file at path '%s'. %s", file.getPath(), tagsString), e);
+				Log.e("", String.format(Locale.US, "Failed to write to output stream for log file at path '%s'. %s", ((file == null) ? "" : file.getPath()), tagsString), e);
+				this.closeFileWriter();
+				return;
 			}
 			
-			try {
-				writer.close();
-				outputStream.close();
-			} catch(IOException e) {
-				String tagsString = Tags.stringFromTags(EnumSet.of(Tags.ERROR, Tags.FILE_SYSTEM));
-				Log.e("", String.format(Locale.US, "Failed to close output stream for log file at path '%s'. %s", file.getPath(), tagsString), e);
+			// Errors and worse reach the disk immediately, everything else is flushed by size or after a short delay.
+			this.fileUnflushedLength += message.length() + 1;
+			if((severity.getValue() <= Severity.ERROR.getValue()) || (this.fileUnflushedLength >= Logger.FILE_BUFFER_SIZE)) {
+				this.flush();
+			} else if(this.fileFlushTask == null) {
+				TimerTask task = new TimerTask()
+				{
+					@Override public void run() {
+						Logger.this.flush();
+					}
+				};
+				this.fileFlushTask = task;
+				Logger.FLUSH_TIMER.get().schedule(task, Logger.FILE_FLUSH_DELAY);
 			}
 		}
 	}
@@ -825,6 +1123,455 @@ public class Logger
 		this.log(sender, message, Output.ALL, Severity.WARNING, tags);
 	}
 	
+	// endregion
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	// region Classes
+	
+	private static final class CompiledFormat
+	{
+		static final int FIELD_LITERAL = -1;
+		static final int FIELD_DATE = 0;
+		static final int FIELD_MESSAGE = 1;
+		static final int FIELD_PROCESS_ID = 2;
+		static final int FIELD_SEVERITY = 3;
+		static final int FIELD_THREAD_ID = 4;
+		static final int FIELD_TIME = 5;
+		
+		// Indexed by field.
+		private static final @NonNull String[] KEYS = new String[] {Logger.FORMAT_DATE, Logger.FORMAT_MESSAGE, Logger.FORMAT_PROCESS_ID, Logger.FORMAT_SEVERITY, Logger.FORMAT_THREAD_ID, Logger.FORMAT_TIME};
+		
+		private final boolean containsThreadID;
+		private final @NonNull int[] fields;
+		private final @NonNull String[] literals;
+		
+		CompiledFormat(@NonNull String format) {
+			List<Integer> fields = new ArrayList<>();
+			List<String> literals = new ArrayList<>();
+			StringBuilder literal = new StringBuilder();
+			boolean containsThreadID = false;
+			
+			// Same matching rules as Strings.newStringByReplacingKeysInFormat: at each '%' any key starting there is a field, anything else is copied as is.
+			int index = 0;
+			int length = format.length();
+			while(index < length) {
+				char character = format.charAt(index);
+				if(character == '%') {
+					int field = FIELD_LITERAL;
+					for(int i = 0; i < KEYS.length; i++) {
+						if(format.startsWith(KEYS[i], index)) {
+							field = i;
+							break;
+						}
+					}
+					
+					if(field != FIELD_LITERAL) {
+						if(literal.length() > 0) {
+							fields.add(FIELD_LITERAL);
+							literals.add(literal.toString());
+							literal.setLength(0);
+						}
+						fields.add(field);
+						literals.add(null);
+						containsThreadID |= (field == FIELD_THREAD_ID);
+						index += KEYS[field].length();
+						continue;
+					}
+				}
+				
+				literal.append(character);
+				index++;
+			}
+			
+			if(literal.length() > 0) {
+				fields.add(FIELD_LITERAL);
+				literals.add(literal.toString());
+			}
+			
+			this.containsThreadID = containsThreadID;
+			this.fields = new int[fields.size()];
+			for(int i = 0; i < this.fields.length; i++) {
+				this.fields[i] = fields.get(i);
+			}
+			this.literals = literals.toArray(new String[0]);
+		}
+		
+		boolean containsThreadID() {
+			return this.containsThreadID;
+		}
+		
+		@NonNull int[] getFields() {
+			return this.fields;
+		}
+		
+		@NonNull String[] getLiterals() {
+			return this.literals;
+		}
+	}
+	
+	static final class Event
+	{
+		boolean shouldLogToDelegates;
+		boolean shouldLogToFile;
+		@Nullable String message;
+		@Nullable String sender;
+		@Nullable Severity severity;
+		int threadID;
+		long time;
+	}
+	
+	static final class EventBuffer
+	{
+		private final @NonNull Event[] batch;
+		private final @NonNull Thread consumer;
+		private int count;
+		private long droppedCount;
+		private final @NonNull Blocks.BlockWithObject<Event> handler;
+		private int head;
+		private final @NonNull OverflowPolicy overflowPolicy;
+		private boolean running;
+		private final @NonNull Event[] slots;
+		
+		EventBuffer(@NonNull Blocks.BlockWithObject<Event> handler, int capacity, @NonNull OverflowPolicy overflowPolicy) {
+			capacity = Math.max(1, capacity);
+			
+			// Events are preallocated: the producers fill them in place and the consumer swaps them out in batches.
+			this.batch = new Event[capacity];
+			this.slots = new Event[capacity];
+			for(int i = 0; i < capacity; i++) {
+				this.batch[i] = new Event();
+				this.slots[i] = new Event();
+			}
+			
+			this.count = 0;
+			this.droppedCount = 0;
+			this.handler = handler;
+			this.head = 0;
+			this.overflowPolicy = overflowPolicy;
+			this.running = true;
+			
+			this.consumer = new Thread(this::consume, Logger.class.getSimpleName() + ".consumer");
+			this.consumer.setDaemon(true);
+			this.consumer.start();
+		}
+		
+		synchronized long getDroppedCount() {
+			return this.droppedCount;
+		}
+		
+		private void consume() {
+			Event[] batch = this.batch;
+			Event[] slots = this.slots;
+			while(true) {
+				int length;
+				synchronized(this) {
+					while((this.count == 0) && this.running) {
+						try {
+							this.wait();
+						} catch(InterruptedException e) {
+							Log.e("JFKit", "Thread interrupted.", e);
+						}
+					}
+					
+					length = this.count;
+					if(length == 0) {
+						return;
+					}
+					
+					for(int i = 0; i < length; i++) {
+						int index = (this.head + i) % slots.length;
+						Event event = slots[index];
+						slots[index] = batch[i];
+						batch[i] = event;
+					}
+					this.count = 0;
+					this.head = 0;
+					this.notifyAll();
+				}
+				
+				for(int i = 0; i < length; i++) {
+					Event event = batch[i];
+					this.handler.execute(event);
+					event.message = null;
+					event.sender = null;
+				}
+			}
+		}
+		
+		private boolean dropDebugEvent() {
+			Event[] slots = this.slots;
+			int capacity = slots.length;
+			for(int i = 0; i < this.count; i++) {
+				int index = (this.head + i) % capacity;
+				if(slots[index].severity != Severity.DEBUG) {
+					continue;
+				}
+				
+				// Compacts the newer events over the dropped one and recycles its slot at the tail.
+				Event dropped = slots[index];
+				for(int j = i; j < this.count - 1; j++) {
+					slots[(this.head + j) % capacity] = slots[(this.head + j + 1) % capacity];
+				}
+				slots[(this.head + this.count - 1) % capacity] = dropped;
+				dropped.message = null;
+				dropped.sender = null;
+				this.count--;
+				this.droppedCount++;
+				return true;
+			}
+			return false;
+		}
+		
+		synchronized boolean publish(@NonNull String sender, @NonNull String message, @NonNull Severity severity, long time, int threadID, boolean shouldLogToDelegates, boolean shouldLogToFile) {
+			Event[] slots = this.slots;
+			if(!this.running) {
+				return false;
+			}
+			
+			while(this.count == slots.length) {
+				if(this.overflowPolicy == OverflowPolicy.DROP_OLDEST) {
+					slots[this.head].message = null;
+					slots[this.head].sender = null;
+					this.head = (this.head + 1) % slots.length;
+					this.count--;
+					this.droppedCount++;
+					break;
+				}
+				
+				if(this.overflowPolicy == OverflowPolicy.DROP_DEBUG_FIRST) {
+					if(severity == Severity.DEBUG) {
+						this.droppedCount++;
+						return true;
+					}
+					if(this.dropDebugEvent()) {
+						break;
+					}
+				}
+				
+				// Blocks until the consumer makes room; without debug events to drop, DROP_DEBUG_FIRST does the same.
+				try {
+					this.wait();
+				} catch(InterruptedException e) {
+					Log.e("JFKit", "Thread interrupted.", e);
+				}
+				
+				// Stopped while waiting: the caller writes the event itself.
+				if(!this.running) {
+					return false;
+				}
+			}
+			
+			Event event = slots[(this.head + this.count) % slots.length];
+			event.message = message;
+			event.sender = sender;
+			event.severity = severity;
+			event.shouldLogToDelegates = shouldLogToDelegates;
+			event.shouldLogToFile = shouldLogToFile;
+			event.threadID = threadID;
+			event.time = time;
+			this.count++;
+			
+			if(this.count == 1) {
+				this.notifyAll();
+			}
+			return true;
+		}
+		
+		void stop() {
+			synchronized(this) {
+				this.running = false;
+				this.notifyAll();
+			}
+			
+			try {
+				this.consumer.join();
+			} catch(InterruptedException e) {
+				Log.e("JFKit", "Thread interrupted.", e);
+			}
+		}
+	}
+	
+	static final class TimestampRenderer
+	{
+		// Pattern letters whose value can't change within a day, and the other ones whose value can't change within a second.
+		private static final @NonNull String DAY_FIELDS = "DEFGLMWYduwy";
+		private static final @NonNull String SECOND_FIELDS = "HKSXZahkmsz";
+		
+		private final @NonNull DateFormat format;
+		private final @NonNull Layout layout;
+		private final @Nullable DateFormat millisPrefixFormat;
+		private final @Nullable DateFormat millisSuffixFormat;
+		private volatile @Nullable Window window;
+		
+		TimestampRenderer(@NonNull DateFormat format) {
+			this.format = (DateFormat)format.clone();
+			this.window = null;
+			
+			// The layout is only classified here, so that a window miss costs a single format of the time.
+			Layout layout = Layout.UNKNOWN;
+			DateFormat millisPrefixFormat = null;
+			DateFormat millisSuffixFormat = null;
+			if(this.format instanceof SimpleDateFormat) {
+				String pattern = ((SimpleDateFormat)this.format).toPattern();
+				int millisStart = -1;
+				int millisEnd = -1;
+				boolean knownFields = true;
+				boolean dayFields = true;
+				boolean quoted = false;
+				int length = pattern.length();
+				for(int i = 0; i < length; i++) {
+					char character = pattern.charAt(i);
+					if(character == '\'') {
+						quoted = !quoted;
+						continue;
+					}
+					if(quoted || (((character < 'a') || (character > 'z')) && ((character < 'A') || (character > 'Z')))) {
+						continue;
+					}
+					
+					if(DAY_FIELDS.indexOf(character) >= 0) {
+						continue;
+					}
+					dayFields = false;
+					if(SECOND_FIELDS.indexOf(character) < 0) {
+						knownFields = false;
+						break;
+					}
+					if(character == 'S') {
+						if(millisStart >= 0) {
+							knownFields = false;
+							break;
+						}
+						millisStart = i;
+						while((i + 1 < length) && (pattern.charAt(i + 1) == 'S')) {
+							i++;
+						}
+						millisEnd = i + 1;
+					}
+				}
+				
+				if(knownFields && !quoted) {
+					if(dayFields) {
+						layout = Layout.DAY;
+					} else if(millisStart < 0) {
+						layout = Layout.SECOND;
+					} else if((millisEnd - millisStart == 3) && TimestampRenderer.usesASCIIDigits(this.format)) {
+						// Only a three letters field is rendered the same way whether 'S' means milliseconds or fractions of a second.
+						layout = Layout.MILLISECONDS;
+						SimpleDateFormat prefixFormat = (SimpleDateFormat)this.format.clone();
+						prefixFormat.applyPattern(pattern.substring(0, millisStart));
+						SimpleDateFormat suffixFormat = (SimpleDateFormat)this.format.clone();
+						suffixFormat.applyPattern(pattern.substring(millisEnd));
+						millisPrefixFormat = prefixFormat;
+						millisSuffixFormat = suffixFormat;
+					}
+				}
+			}
+			this.layout = layout;
+			this.millisPrefixFormat = millisPrefixFormat;
+			this.millisSuffixFormat = millisSuffixFormat;
+		}
+		
+		void append(@NonNull StringBuilder builder, long time) {
+			if(this.layout == Layout.UNKNOWN) {
+				builder.append(TimestampRenderer.format(this.format, time));
+				return;
+			}
+			
+			// The format is only used when the time leaves the cached window, which happens at most once per second.
+			Window window = this.window;
+			if((window == null) || (time < window.start) || (time >= window.end)) {
+				window = this.newWindow(time);
+				this.window = window;
+			}
+			
+			builder.append(window.prefix);
+			if(window.containsMillis) {
+				int millis = (int)(time - window.start);
+				if(millis < 100) {
+					builder.append('0');
+				}
+				if(millis < 10) {
+					builder.append('0');
+				}
+				builder.append(millis);
+				builder.append(window.suffix);
+			}
+		}
+		
+		private static @NonNull String format(@NonNull DateFormat format, long time) {
+			synchronized(format) {
+				return format.format(new Date(time));
+			}
+		}
+		
+		private @NonNull Window newWindow(long time) {
+			long secondStart = (time / 1000) * 1000;
+			if(secondStart > time) {
+				secondStart -= 1000;
+			}
+			switch(this.layout) {
+				case DAY: {
+					Calendar calendar;
+					synchronized(this.format) {
+						calendar = (Calendar)this.format.getCalendar().clone();
+					}
+					calendar.setTimeInMillis(time);
+					calendar.set(Calendar.HOUR_OF_DAY, 0);
+					calendar.set(Calendar.MINUTE, 0);
+					calendar.set(Calendar.SECOND, 0);
+					calendar.set(Calendar.MILLISECOND, 0);
+					long dayStart = calendar.getTimeInMillis();
+					calendar.add(Calendar.DAY_OF_MONTH, 1);
+					long dayEnd = calendar.getTimeInMillis();
+					
+					// Days that don't start at midnight (because of a DST change) fall back to a window of one second.
+					if((dayStart <= time) && (time < dayEnd)) {
+						return new Window(dayStart, dayEnd, TimestampRenderer.format(this.format, time), null);
+					}
+					return new Window(secondStart, secondStart + 1000, TimestampRenderer.format(this.format, time), null);
+				}
+				case MILLISECONDS: {
+					String prefix = TimestampRenderer.format(this.millisPrefixFormat, secondStart);
+					String suffix = TimestampRenderer.format(this.millisSuffixFormat, secondStart);
+					return new Window(secondStart, secondStart + 1000, prefix, suffix);
+				}
+				default: {
+					return new Window(secondStart, secondStart + 1000, TimestampRenderer.format(this.format, time), null);
+				}
+			}
+		}
+		
+		private static boolean usesASCIIDigits(@NonNull DateFormat format) {
+			NumberFormat numberFormat = format.getNumberFormat();
+			return ((numberFormat instanceof DecimalFormat) && (((DecimalFormat)numberFormat).getDecimalFormatSymbols().getZeroDigit() == '0'));
+		}
+		
+		private enum Layout
+		{
+			DAY,
+			MILLISECONDS,
+			SECOND,
+			UNKNOWN,
+		}
+	}
+	
+	private static final class Window
+	{
+		final boolean containsMillis;
+		final long end;
+		final @NonNull String prefix;
+		final long start;
+		final @Nullable String suffix;
+		
+		Window(long start, long end, @NonNull String prefix, @Nullable String suffix) {
+			this.containsMillis = (suffix != null);
+			this.end = end;
+			this.prefix = prefix;
+			this.start = start;
+			this.suffix = suffix;
+		}
+	}
+	
 	// endregion
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 }
@@ -0,0 +1,166 @@
+//
+//	The MIT License (MIT)
+//
+//	Copyright © 2019-2024 Jacopo Filié
+//
+//	Permission is hereby granted, free of charge, to any person obtaining a copy
+//	of this software and associated documentation files (the "Software"), to deal
+//	in the Software without restriction, including without limitation the rights
+//	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//	copies of the Software, and to permit persons to whom the Software is
+//	furnished to do so, subject to the following conditions:
+//
+//	The above copyright notice and this permission notice shall be included in all
+//	copies or substantial portions of the Software.
+//
+//	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//	SOFTWARE.
+//
+
+package com.jackfelle.jfkit.utilities;
+
+import android.util.Log;
+
+import com.jackfelle.jfkit.core.operations.BlockOperation;
+import com.jackfelle.jfkit.core.operations.OperationQueue;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+public class AsynchronousLazy <T>
+{
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	// region Properties - Data
+	
+	private final @NonNull Lazy.Builder<T> builder;
+	private @NonNull State state;
+	private volatile @Nullable T value;
+	
+	// endregion
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	// region Properties (Accessors) - Data
+	
+	public @NonNull T get() {
+		T retObj = this.value;
+		if(retObj != null) {
+			return retObj;
+		}
+		
+		// Callers that find a build in flight wait for it instead of starting their own.
+		synchronized(this) {
+			while(true) {
+				retObj = this.value;
+				if(retObj != null) {
+					return retObj;
+				}
+				
+				// A prefetch that is still queued may be stuck behind this caller: claim the build instead of waiting for it.
+				if(this.state != State.BUILDING) {
+					this.state = State.BUILDING;
+					break;
+				}
+				
+				try {
+					this.wait();
+				} catch(InterruptedException e) {
+					Log.e("JFKit", "Thread interrupted.", e);
+				}
+			}
+		}
+		
+		return this.build();
+	}
+	
+	public synchronized boolean isBuilding() {
+		return (this.state != State.NONE);
+	}
+	
+	public @Nullable T opt() {
+		return this.value;
+	}
+	
+	// endregion
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	// region Methods - Memory
+	
+	public static <T> AsynchronousLazy<T> newInstance(@NonNull Lazy.Builder<T> builder) {
+		return new AsynchronousLazy<>(builder);
+	}
+	
+	private AsynchronousLazy(@NonNull Lazy.Builder<T> builder) {
+		super();
+		
+		this.builder = builder;
+		this.state = State.NONE;
+		this.value = null;
+	}
+	
+	// endregion
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	// region Methods - Execution
+	
+	private @NonNull T build() {
+		T retObj = null;
+		try {
+			retObj = this.builder.build();
+		} finally {
+			// If the builder fails, waiting callers wake up and one of them tries again.
+			synchronized(this) {
+				this.value = retObj;
+				this.state = State.NONE;
+				this.notifyAll();
+			}
+		}
+		return retObj;
+	}
+	
+	public void prefetch(@NonNull OperationQueue queue) {
+		synchronized(this) {
+			if((this.value != null) || (this.state != State.NONE)) {
+				return;
+			}
+			
+			this.state = State.QUEUED;
+		}
+		
+		queue.addOperation(new BlockOperation(this::prefetchBuild));
+	}
+	
+	private void prefetchBuild() {
+		// Nothing to do if a caller of get() already claimed the build.
+		synchronized(this) {
+			if((this.value != null) || (this.state != State.QUEUED)) {
+				return;
+			}
+			
+			this.state = State.BUILDING;
+		}
+		
+		this.build();
+	}
+	
+	// endregion
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	// region Types
+	
+	private enum State
+	{
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Values
+		
+		NONE,
+		QUEUED,
+		BUILDING;
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+	}
+	
+	// endregion
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+}
@@ -59,7 +59,11 @@ public class ContextualOptional <T>
 	// region Methods - Memory
 	
 	public static <T> ContextualOptional<T> newInstance(@NonNull Builder<T> builder) {
-		return new ContextualOptional<>(new Implementation<>(builder));
+		return new ContextualOptional<>(new UnsynchronizedImplementation<>(builder));
+	}
+	
+	public static <T> ContextualOptional<T> newRacyInstance(@NonNull Builder<T> builder) {
+		return new ContextualOptional<>(new RacyImplementation<>(builder));
 	}
 	
 	public static <T> ContextualOptional<T> newSynchronizedInstance(@NonNull Builder<T> builder) {
@@ -91,13 +95,12 @@ public class ContextualOptional <T>
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	// region Classes
 	
-	private static class Implementation <T>
+	private static abstract class Implementation <T>
 	{
 		////////////////////////////////////////////////////////////////////////////////////////////////
 		// region Properties - Data
 		
 		private final @NonNull Builder<T> builder;
-		protected @Nullable WeakReference<T> value;
 		
 		// endregion
 		////////////////////////////////////////////////////////////////////////////////////////////////
@@ -107,7 +110,36 @@ public class ContextualOptional <T>
 			return this.builder;
 		}
 		
-		public @NonNull T getValue(@NonNull Context context) {
+		public abstract @NonNull T getValue(@NonNull Context context);
+		
+		public abstract @Nullable T optValue();
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Methods - Memory
+		
+		public Implementation(@NonNull Builder<T> builder) {
+			super();
+			
+			this.builder = builder;
+		}
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+	}
+	
+	private static class UnsynchronizedImplementation <T> extends Implementation<T>
+	{
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Properties - Data
+		
+		private @Nullable WeakReference<T> value;
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Properties (Accessors) - Data
+		
+		@Override public @NonNull T getValue(@NonNull Context context) {
 			T retObj = this.optValue();
 			if(retObj == null) {
 				retObj = this.getBuilder().build(context);
@@ -116,7 +148,7 @@ public class ContextualOptional <T>
 			return retObj;
 		}
 		
-		public @Nullable T optValue() {
+		@Override public @Nullable T optValue() {
 			return Utilities.unwrapObject(this.value);
 		}
 		
@@ -124,27 +156,69 @@ public class ContextualOptional <T>
 		////////////////////////////////////////////////////////////////////////////////////////////////////
 		// region Methods - Memory
 		
-		public Implementation(@NonNull Builder<T> builder) {
-			super();
-			
-			this.builder = builder;
+		public UnsynchronizedImplementation(@NonNull Builder<T> builder) {
+			super(builder);
 		}
 		
 		// endregion
 		////////////////////////////////////////////////////////////////////////////////////////////////
 	}
 	
-	private static class SynchronizedImplementation <T> extends Implementation<T>
+	private static class RacyImplementation <T> extends Implementation<T>
 	{
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Properties - Data
+		
+		protected volatile @Nullable WeakReference<T> value;
+		
+		// endregion
 		////////////////////////////////////////////////////////////////////////////////////////////////
 		// region Properties (Accessors) - Data
 		
-		@Override public synchronized @NonNull T getValue(@NonNull Context context) {
-			return super.getValue(context);
+		@Override public @NonNull T getValue(@NonNull Context context) {
+			T retObj = this.optValue();
+			if(retObj == null) {
+				retObj = this.getBuilder().build(context);
+				this.value = Utilities.weakWrapObject(retObj);
+			}
+			return retObj;
+		}
+		
+		@Override public @Nullable T optValue() {
+			return Utilities.unwrapObject(this.value);
+		}
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Methods - Memory
+		
+		public RacyImplementation(@NonNull Builder<T> builder) {
+			super(builder);
 		}
 		
-		@Override public synchronized @Nullable T optValue() {
-			return super.optValue();
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+	}
+	
+	private static class SynchronizedImplementation <T> extends RacyImplementation<T>
+	{
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Properties (Accessors) - Data
+		
+		@Override public @NonNull T getValue(@NonNull Context context) {
+			T retObj = this.optValue();
+			if(retObj != null) {
+				return retObj;
+			}
+			
+			synchronized(this) {
+				retObj = this.optValue();
+				if(retObj == null) {
+					retObj = this.getBuilder().build(context);
+					this.value = Utilities.weakWrapObject(retObj);
+				}
+				return retObj;
+			}
 		}
 		
 		// endregion
@@ -113,7 +113,7 @@ public class Executor <OwnerType>
 	}
 	
 	public void execute(@NonNull ExecutorBlock<OwnerType> block, @Nullable Blocks.FailureBlock failureBlock, boolean waitUntilFinished) {
-		if(OperationQueue.getCurrentQueue() != this.getQueue()) {
+		if(!this.getQueue().isCurrentQueue()) {
 			this.enqueue(block, failureBlock, waitUntilFinished);
 			return;
 		}
@@ -51,7 +51,12 @@ public class Lazy <T>
 	// region Methods - Memory
 	
 	public static <T> Lazy<T> newInstance(@NonNull Builder<T> builder) {
-		return new Lazy<>(new Implementation<>(builder));
+		return new Lazy<>(new UnsynchronizedImplementation<>(builder));
+	}
+	
+	public static <T> Lazy<T> newRacyInstance(@NonNull Builder<T> builder) {
+		// The builder may run more than once if several threads race here: only use it with idempotent builders.
+		return new Lazy<>(new RacyImplementation<>(builder));
 	}
 	
 	public static <T> Lazy<T> newSynchronizedInstance(@NonNull Builder<T> builder) {
@@ -83,13 +88,12 @@ public class Lazy <T>
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	// region Classes
 	
-	private static class Implementation <T>
+	private static abstract class Implementation <T>
 	{
 		////////////////////////////////////////////////////////////////////////////////////////////////
 		// region Properties - Data
 		
 		private final @NonNull Builder<T> builder;
-		protected @Nullable T value;
 		
 		// endregion
 		////////////////////////////////////////////////////////////////////////////////////////////////
@@ -99,7 +103,34 @@ public class Lazy <T>
 			return this.builder;
 		}
 		
-		public @NonNull T getValue() {
+		public abstract @NonNull T getValue();
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Methods - Memory
+		
+		public Implementation(@NonNull Builder<T> builder) {
+			super();
+			
+			this.builder = builder;
+		}
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+	}
+	
+	private static class UnsynchronizedImplementation <T> extends Implementation<T>
+	{
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Properties - Data
+		
+		private @Nullable T value;
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Properties (Accessors) - Data
+		
+		@Override public @NonNull T getValue() {
 			T retObj = this.value;
 			if(retObj == null) {
 				retObj = this.getBuilder().build();
@@ -112,17 +143,47 @@ public class Lazy <T>
 		////////////////////////////////////////////////////////////////////////////////////////////////////
 		// region Methods - Memory
 		
-		public Implementation(@NonNull Builder<T> builder) {
-			super();
-			
-			this.builder = builder;
+		public UnsynchronizedImplementation(@NonNull Builder<T> builder) {
+			super(builder);
 		}
 		
 		// endregion
 		////////////////////////////////////////////////////////////////////////////////////////////////
 	}
 	
-	private static class SynchronizedImplementation <T> extends Implementation<T>
+	private static class RacyImplementation <T> extends Implementation<T>
+	{
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Properties - Data
+		
+		protected volatile @Nullable T value;
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Properties (Accessors) - Data
+		
+		@Override public @NonNull T getValue() {
+			T retObj = this.value;
+			if(retObj == null) {
+				retObj = this.getBuilder().build();
+				this.value = retObj;
+			}
+			return retObj;
+		}
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Methods - Memory
+		
+		public RacyImplementation(@NonNull Builder<T> builder) {
+			super(builder);
+		}
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+	}
+	
+	private static class SynchronizedImplementation <T> extends RacyImplementation<T>
 	{
 		////////////////////////////////////////////////////////////////////////////////////////////////
 		// region Properties (Accessors) - Data
@@ -134,7 +195,12 @@ public class Lazy <T>
 			}
 			
 			synchronized(this) {
-				return super.getValue();
+				retObj = this.value;
+				if(retObj == null) {
+					retObj = this.getBuilder().build();
+					this.value = retObj;
+				}
+				return retObj;
 			}
 		}
 		
@@ -24,51 +24,74 @@
 
 package com.jackfelle.jfkit.utilities;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicLong;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 public final class ObjectIdentifier
 {
 	private static final @NonNull AtomicLong BUILDER = new AtomicLong(0);
-	private static final @NonNull Map<WeakReference<Object>, Long> REGISTRY = new ConcurrentHashMap<>();
+	private static final @NonNull ReferenceQueue<Object> REFERENCE_QUEUE = new ReferenceQueue<>();
+	private static final @NonNull ConcurrentMap<IdentityKey, Long> REGISTRY = new ConcurrentHashMap<>();
+	
+	static int getCount() {
+		ObjectIdentifier.expungeStaleEntries();
+		return ObjectIdentifier.REGISTRY.size();
+	}
 	
 	public static long getID(@NonNull Object object) {
-		Long retVal = null;
+		ObjectIdentifier.expungeStaleEntries();
 		
-		List<WeakReference<Object>> oldReferences = null;
-		for(WeakReference<Object> reference : ObjectIdentifier.REGISTRY.keySet()) {
-			Object storedObject = reference.get();
-			if(storedObject == null) {
-				if(oldReferences == null) {
-					oldReferences = new ArrayList<>();
-				}
-				oldReferences.add(reference);
-				continue;
-			}
+		Long retVal = ObjectIdentifier.REGISTRY.get(new IdentityKey(object, null));
+		if(retVal != null) {
+			return retVal;
+		}
+		
+		Long newID = ObjectIdentifier.BUILDER.getAndIncrement();
+		retVal = ObjectIdentifier.REGISTRY.putIfAbsent(new IdentityKey(object, ObjectIdentifier.REFERENCE_QUEUE), newID);
+		return ((retVal == null) ? newID : retVal);
+	}
+	
+	private static void expungeStaleEntries() {
+		Reference<?> reference;
+		while((reference = ObjectIdentifier.REFERENCE_QUEUE.poll()) != null) {
+			ObjectIdentifier.REGISTRY.remove(reference);
+		}
+	}
+	
+	private static final class IdentityKey extends WeakReference<Object>
+	{
+		private final int hash;
+		
+		IdentityKey(@NonNull Object object, @Nullable ReferenceQueue<Object> queue) {
+			super(object, queue);
 			
-			if(storedObject == object) {
-				retVal = ObjectIdentifier.REGISTRY.get(reference);
-				break;
-			}
+			this.hash = System.identityHashCode(object);
 		}
 		
-		if(oldReferences != null) {
-			for(WeakReference<Object> reference : oldReferences) {
-				ObjectIdentifier.REGISTRY.remove(reference);
+		@Override public boolean equals(@Nullable Object object) {
+			if(this == object) {
+				return true;
 			}
+			
+			if(!(object instanceof IdentityKey)) {
+				return false;
+			}
+			
+			// Cleared keys are only equal to themselves, so that expunging can find them.
+			IdentityKey other = (IdentityKey)object;
+			Object referent = this.get();
+			return ((this.hash == other.hash) && (referent != null) && (referent == other.get()));
 		}
 		
-		if(retVal == null) {
-			retVal = ObjectIdentifier.BUILDER.getAndIncrement();
-			ObjectIdentifier.REGISTRY.put(new WeakReference<>(object), retVal);
+		@Override public int hashCode() {
+			return this.hash;
 		}
-		
-		return retVal;
 	}
 }
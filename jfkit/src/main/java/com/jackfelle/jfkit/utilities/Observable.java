@@ -24,10 +24,11 @@
 
 package com.jackfelle.jfkit.utilities;
 
+import com.jackfelle.jfkit.core.operations.BlockOperation;
+import com.jackfelle.jfkit.core.operations.OperationQueue;
+
 import java.lang.ref.WeakReference;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -51,6 +52,18 @@ public class Observable <T>
 		this.getImplementation().setValue(value);
 	}
 	
+	public boolean compareAndSet(@NonNull T expectedValue, @NonNull T newValue) {
+		return this.getImplementation().compareAndSetValue(expectedValue, newValue);
+	}
+	
+	public @NonNull T getAndUpdate(@NonNull UpdateBlock<T> updateBlock) {
+		return this.getImplementation().getAndUpdateValue(updateBlock);
+	}
+	
+	public @NonNull T updateAndGet(@NonNull UpdateBlock<T> updateBlock) {
+		return this.getImplementation().updateAndGetValue(updateBlock);
+	}
+	
 	private @NonNull Observable.Implementation<T> getImplementation() {
 		return this.implementation.get(this);
 	}
@@ -59,6 +72,14 @@ public class Observable <T>
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	// region Methods - Memory
 	
+	public static <T> Observable<T> newAtomicInstance(@NonNull T value) {
+		return new Observable<>(ParameterizedLazy.newSynchronizedInstance(param -> new AtomicImplementation<>(param, value)));
+	}
+	
+	public static <T> Observable<T> newConflatedInstance(@NonNull T value, @NonNull OperationQueue queue) {
+		return new Observable<>(ParameterizedLazy.newSynchronizedInstance(param -> new ConflatedImplementation<>(param, value, queue)));
+	}
+	
 	public static <T> Observable<T> newInstance(@NonNull T value) {
 		return new Observable<>(ParameterizedLazy.newInstance(param -> new Implementation<>(param, value)));
 	}
@@ -73,12 +94,38 @@ public class Observable <T>
 		this.implementation = implementation;
 	}
 	
+	// endregion
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	// region Methods - Operators
+	
+	public static <A, B, R> @NonNull Observable<R> combine(@NonNull Observable<A> first, @NonNull Observable<B> second, @NonNull CombineBlock<A, B, R> combineBlock) {
+		return Observable.newDerivedInstance(() -> combineBlock.combine(first.get(), second.get()), null, first, second);
+	}
+	
+	public @NonNull Observable<T> distinctUntilChanged(@NonNull EquivalenceBlock<T> equivalenceBlock) {
+		return Observable.newDerivedInstance(this::get, equivalenceBlock, this);
+	}
+	
+	public <R> @NonNull Observable<R> map(@NonNull MapBlock<T, R> mapBlock) {
+		return Observable.newDerivedInstance(() -> mapBlock.map(this.get()), null, this);
+	}
+	
+	private static <T> @NonNull Observable<T> newDerivedInstance(@NonNull ValueBlock<T> valueBlock, @Nullable EquivalenceBlock<T> equivalenceBlock, @NonNull Observable<?>... sources) {
+		return new Observable<>(ParameterizedLazy.newSynchronizedInstance(param -> {
+			DerivedImplementation<T> retObj = new DerivedImplementation<>(param, valueBlock, equivalenceBlock);
+			for(Observable<?> source : sources) {
+				source.getImplementation().addDependent(retObj);
+			}
+			return retObj;
+		}));
+	}
+	
 	// endregion
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	// region Methods - Observers
 	
 	public void addNotificationBlock(@NonNull NotificationBlock<T> notificationBlock) {
-		this.getImplementation().getNotificationBlocks().add(notificationBlock);
+		this.getImplementation().addNotificationBlock(notificationBlock);
 	}
 	
 	public void addObserver(@NonNull Observer<T> observer) {
@@ -86,7 +133,7 @@ public class Observable <T>
 	}
 	
 	public void removeNotificationBlock(@NonNull NotificationBlock<T> notificationBlock) {
-		this.getImplementation().getNotificationBlocks().remove(notificationBlock);
+		this.getImplementation().removeNotificationBlock(notificationBlock);
 	}
 	
 	public void removeObserver(@NonNull Observer<T> observer) {
@@ -97,6 +144,50 @@ public class Observable <T>
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	// region Interfaces
 	
+	public interface CombineBlock <A, B, R>
+	{
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Methods - Data
+		
+		@NonNull R combine(@NonNull A first, @NonNull B second);
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+	}
+	
+	private interface Dependent
+	{
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Methods - Data
+		
+		void sourceDidChange();
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+	}
+	
+	public interface EquivalenceBlock <T>
+	{
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Methods - Data
+		
+		boolean areEquivalent(@NonNull T value, @NonNull T otherValue);
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+	}
+	
+	public interface MapBlock <T, R>
+	{
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Methods - Data
+		
+		@NonNull R map(@NonNull T value);
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+	}
+	
 	public interface NotificationBlock <T>
 	{
 		////////////////////////////////////////////////////////////////////////////////////////////////
@@ -119,12 +210,356 @@ public class Observable <T>
 		////////////////////////////////////////////////////////////////////////////////////////////////
 	}
 	
+	public interface UpdateBlock <T>
+	{
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Methods - Data
+		
+		@NonNull T update(@NonNull T value);
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+	}
+	
+	private interface ValueBlock <T>
+	{
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Methods - Data
+		
+		@NonNull T getValue();
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+	}
+	
 	// endregion
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	// region Classes
 	
+	private static class AtomicImplementation <T> extends Observable.Implementation<T>
+	{
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Properties - Data
+		
+		private final @NonNull AtomicReference<T> atomicValue;
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Properties (Accessors) - Data
+		
+		@Override public @NonNull T getValue() {
+			return this.atomicValue.get();
+		}
+		
+		@Override public void setValue(@NonNull T value) {
+			AtomicReference<T> atomicValue = this.atomicValue;
+			T oldValue;
+			do {
+				oldValue = atomicValue.get();
+				if(Utilities.areObjectsEqual(oldValue, value)) {
+					return;
+				}
+			} while(!atomicValue.compareAndSet(oldValue, value));
+			
+			this.notifyValueChanged(value, oldValue);
+		}
+		
+		@Override public boolean compareAndSetValue(@NonNull T expectedValue, @NonNull T newValue) {
+			AtomicReference<T> atomicValue = this.atomicValue;
+			T oldValue;
+			do {
+				oldValue = atomicValue.get();
+				if(!Utilities.areObjectsEqual(oldValue, expectedValue)) {
+					return false;
+				}
+				if(Utilities.areObjectsEqual(oldValue, newValue)) {
+					return true;
+				}
+			} while(!atomicValue.compareAndSet(oldValue, newValue));
+			
+			this.notifyValueChanged(newValue, oldValue);
+			return true;
+		}
+		
+		@Override public @NonNull T getAndUpdateValue(@NonNull UpdateBlock<T> updateBlock) {
+			return this.updateValue(updateBlock, false);
+		}
+		
+		@Override public @NonNull T updateAndGetValue(@NonNull UpdateBlock<T> updateBlock) {
+			return this.updateValue(updateBlock, true);
+		}
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Methods - Memory
+		
+		public AtomicImplementation(@NonNull Observable<T> owner, @NonNull T value) {
+			super(owner, value, Lazy.newSynchronizedInstance(ObserversController::new));
+			
+			this.atomicValue = new AtomicReference<>(value);
+		}
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Methods - Observers
+		
+		private void notifyValueChanged(@NonNull T newVal, @NonNull T oldVal) {
+			// Notifications run after the value has been published and without holding any lock.
+			this.executeNotificationBlocks(this.getNotificationBlocks(), newVal, oldVal);
+			this.notifyObservers(newVal, oldVal);
+		}
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Methods - Utilities
+		
+		private @NonNull T updateValue(@NonNull UpdateBlock<T> updateBlock, boolean returnsNewValue) {
+			AtomicReference<T> atomicValue = this.atomicValue;
+			T oldValue;
+			T newValue;
+			do {
+				oldValue = atomicValue.get();
+				newValue = updateBlock.update(oldValue);
+				if(Utilities.areObjectsEqual(oldValue, newValue)) {
+					return oldValue;
+				}
+			} while(!atomicValue.compareAndSet(oldValue, newValue));
+			
+			this.notifyValueChanged(newValue, oldValue);
+			return (returnsNewValue ? newValue : oldValue);
+		}
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+	}
+	
+	private static class ConflatedImplementation <T> extends Observable.SynchronizedImplementation<T>
+	{
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Properties - Data
+		
+		private @NonNull T notifiedValue;
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Properties - Observers
+		
+		private boolean dispatching;
+		private final @NonNull OperationQueue queue;
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Properties (Accessors) - Data
+		
+		@Override public void setValue(@NonNull T value) {
+			synchronized(this) {
+				if(Utilities.areObjectsEqual(this.value, value)) {
+					return;
+				}
+				
+				this.value = value;
+				
+				// Updates that come in while a dispatch is pending are collapsed into it.
+				if(this.dispatching) {
+					return;
+				}
+				
+				this.dispatching = true;
+			}
+			
+			this.scheduleDispatch();
+		}
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Methods - Memory
+		
+		public ConflatedImplementation(@NonNull Observable<T> owner, @NonNull T value, @NonNull OperationQueue queue) {
+			super(owner, value);
+			
+			this.dispatching = false;
+			this.notifiedValue = value;
+			this.queue = queue;
+		}
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Methods - Observers
+		
+		private void dispatch() {
+			T newVal;
+			T oldVal;
+			synchronized(this) {
+				newVal = this.value;
+				oldVal = this.notifiedValue;
+				if(Utilities.areObjectsEqual(newVal, oldVal)) {
+					this.dispatching = false;
+					return;
+				}
+				
+				this.notifiedValue = newVal;
+			}
+			
+			// A failing block or observer must not leave the dispatch flag set, or this object would never notify again.
+			try {
+				this.executeNotificationBlocks(this.getNotificationBlocks(), newVal, oldVal);
+				this.notifyObservers(newVal, oldVal);
+			} finally {
+				// Only one dispatch is in flight at any time, so observers always see the changes in order.
+				boolean needsDispatch;
+				synchronized(this) {
+					needsDispatch = !Utilities.areObjectsEqual(this.value, this.notifiedValue);
+					if(!needsDispatch) {
+						this.dispatching = false;
+					}
+				}
+				if(needsDispatch) {
+					this.scheduleDispatch();
+				}
+			}
+		}
+		
+		private void scheduleDispatch() {
+			this.queue.addOperation(new BlockOperation(this::dispatch));
+		}
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+	}
+	
+	private static class DerivedImplementation <T> extends Observable.Implementation<T> implements Dependent
+	{
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Properties - Data
+		
+		private int computedVersion;
+		private final @Nullable EquivalenceBlock<T> equivalenceBlock;
+		private boolean hasValue;
+		private final @NonNull ValueBlock<T> valueBlock;
+		private int version;
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Properties (Accessors) - Data
+		
+		@Override public @NonNull T getValue() {
+			while(true) {
+				int version;
+				synchronized(this) {
+					version = this.version;
+					if(this.hasValue && (this.computedVersion == version)) {
+						return this.value;
+					}
+				}
+				
+				// Sources are read outside the lock, as they may be notifying this object while holding their own.
+				T value = this.valueBlock.getValue();
+				
+				synchronized(this) {
+					if(this.version != version) {
+						continue;
+					}
+					
+					this.computedVersion = version;
+					if(!this.hasValue || !this.areValuesEquivalent(this.value, value)) {
+						this.hasValue = true;
+						this.value = value;
+					}
+					return this.value;
+				}
+			}
+		}
+		
+		@Override public void setValue(@NonNull T value) {
+			throw new UnsupportedOperationException("Derived observables can't be set.");
+		}
+		
+		private synchronized boolean isDirty() {
+			return (!this.hasValue || (this.computedVersion != this.version));
+		}
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Properties (Accessors) - Observers
+		
+		@Override public @NonNull ObserversController<Observer<T>> getObservers() {
+			this.getValue();
+			return super.getObservers();
+		}
+		
+		private boolean isObserved() {
+			return ((super.getNotificationBlocks().length > 0) || (super.getObservers().getCount() > 0));
+		}
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Methods - Memory
+		
+		public DerivedImplementation(@NonNull Observable<T> owner, @NonNull ValueBlock<T> valueBlock, @Nullable EquivalenceBlock<T> equivalenceBlock) {
+			super(owner, null, Lazy.newSynchronizedInstance(ObserversController::new));
+			
+			this.computedVersion = 0;
+			this.equivalenceBlock = equivalenceBlock;
+			this.hasValue = false;
+			this.valueBlock = valueBlock;
+			this.version = 0;
+		}
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Methods - Observers
+		
+		@Override public void addNotificationBlock(@NonNull NotificationBlock<T> notificationBlock) {
+			// A value must exist before anyone is told that it changed.
+			this.getValue();
+			super.addNotificationBlock(notificationBlock);
+		}
+		
+		@Override public void sourceDidChange() {
+			boolean wasDirty;
+			T oldVal;
+			synchronized(this) {
+				wasDirty = this.isDirty();
+				this.version++;
+				oldVal = this.value;
+			}
+			
+			// Nobody is listening: stay dirty until the next read and just let the dependents know.
+			if(!this.isObserved()) {
+				if(!wasDirty) {
+					this.invalidateDependents();
+				}
+				return;
+			}
+			
+			T newVal = this.getValue();
+			if(newVal != oldVal) {
+				this.executeNotificationBlocks(super.getNotificationBlocks(), newVal, oldVal);
+				this.notifyObservers(newVal, oldVal);
+			}
+		}
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Methods - Utilities
+		
+		private boolean areValuesEquivalent(@NonNull T value, @NonNull T otherValue) {
+			EquivalenceBlock<T> equivalenceBlock = this.equivalenceBlock;
+			return ((equivalenceBlock == null) ? Utilities.areObjectsEqual(value, otherValue) : equivalenceBlock.areEquivalent(value, otherValue));
+		}
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+	}
+	
 	private static class Implementation <T>
 	{
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Properties - Constants
+		
+		private static final @NonNull NotificationBlock<?>[] EMPTY_NOTIFICATION_BLOCKS = new NotificationBlock<?>[0];
+		
+		// endregion
 		////////////////////////////////////////////////////////////////////////////////////////////////
 		// region Properties - Data
 		
@@ -135,7 +570,8 @@ public class Observable <T>
 		////////////////////////////////////////////////////////////////////////////////////////////////
 		// region Properties - Observers
 		
-		private final @NonNull Lazy<List<NotificationBlock<T>>> notificationBlocks;
+		private volatile @Nullable ObserversController<Dependent> dependents;
+		private volatile @NonNull NotificationBlock<T>[] notificationBlocks;
 		private final @NonNull Lazy<ObserversController<Observer<T>>> observers;
 		
 		// endregion
@@ -162,12 +598,33 @@ public class Observable <T>
 			this.notifyObservers(value, old);
 		}
 		
+		public boolean compareAndSetValue(@NonNull T expectedValue, @NonNull T newValue) {
+			if(!Utilities.areObjectsEqual(this.getValue(), expectedValue)) {
+				return false;
+			}
+			
+			this.setValue(newValue);
+			return true;
+		}
+		
+		public @NonNull T getAndUpdateValue(@NonNull UpdateBlock<T> updateBlock) {
+			T retObj = this.getValue();
+			this.setValue(updateBlock.update(retObj));
+			return retObj;
+		}
+		
+		public @NonNull T updateAndGetValue(@NonNull UpdateBlock<T> updateBlock) {
+			T retObj = updateBlock.update(this.getValue());
+			this.setValue(retObj);
+			return retObj;
+		}
+		
 		// endregion
 		////////////////////////////////////////////////////////////////////////////////////////////////
 		// region Properties (Accessors) - Observers
 		
-		public @NonNull List<NotificationBlock<T>> getNotificationBlocks() {
-			return this.notificationBlocks.get();
+		public @NonNull NotificationBlock<T>[] getNotificationBlocks() {
+			return this.notificationBlocks;
 		}
 		
 		public @NonNull ObserversController<Observer<T>> getObservers() {
@@ -179,13 +636,14 @@ public class Observable <T>
 		// region Methods - Memory
 		
 		public Implementation(@NonNull Observable<T> owner, @NonNull T value) {
-			this(owner, value, Lazy.newInstance(ArrayList::new), Lazy.newInstance(ObserversController::new));
+			this(owner, value, Lazy.newInstance(ObserversController::new));
 		}
 		
-		protected Implementation(@NonNull Observable<T> owner, @NonNull T value, @NonNull Lazy<List<NotificationBlock<T>>> notificationBlocks, @NonNull Lazy<ObserversController<Observer<T>>> observers) {
+		protected Implementation(@NonNull Observable<T> owner, @NonNull T value, @NonNull Lazy<ObserversController<Observer<T>>> observers) {
 			super();
 			
-			this.notificationBlocks = notificationBlocks;
+			this.dependents = null;
+			this.notificationBlocks = newNotificationBlocks(0);
 			this.observers = observers;
 			this.owner = new WeakReference<>(owner);
 			this.value = value;
@@ -195,17 +653,79 @@ public class Observable <T>
 		////////////////////////////////////////////////////////////////////////////////////////////////////
 		// region Methods - Observers
 		
-		protected void executeNotificationBlocks(@NonNull List<NotificationBlock<T>> notificationBlocks, @NonNull T newVal, @NonNull T oldVal) {
-			for(NotificationBlock<T> block : notificationBlocks) {
-				block.onValueChanged(newVal, oldVal);
+		public void addNotificationBlock(@NonNull NotificationBlock<T> notificationBlock) {
+			synchronized(this) {
+				NotificationBlock<T>[] oldBlocks = this.notificationBlocks;
+				NotificationBlock<T>[] newBlocks = newNotificationBlocks(oldBlocks.length + 1);
+				System.arraycopy(oldBlocks, 0, newBlocks, 0, oldBlocks.length);
+				newBlocks[oldBlocks.length] = notificationBlock;
+				this.notificationBlocks = newBlocks;
+			}
+		}
+		
+		void addDependent(@NonNull Dependent dependent) {
+			ObserversController<Dependent> dependents;
+			synchronized(this) {
+				dependents = this.dependents;
+				if(dependents == null) {
+					dependents = new ObserversController<>();
+					this.dependents = dependents;
+				}
+			}
+			dependents.addObserver(dependent);
+		}
+		
+		protected void executeNotificationBlocks(@NonNull NotificationBlock<T>[] notificationBlocks, @NonNull T newVal, @NonNull T oldVal) {
+			// Blocks are added and removed by swapping the array, so indexing it allocates nothing and nothing shifts under the loop.
+			for(int i = 0; i < notificationBlocks.length; i++) {
+				notificationBlocks[i].onValueChanged(newVal, oldVal);
+			}
+		}
+		
+		public void removeNotificationBlock(@NonNull NotificationBlock<T> notificationBlock) {
+			synchronized(this) {
+				NotificationBlock<T>[] oldBlocks = this.notificationBlocks;
+				int position = -1;
+				for(int i = 0; i < oldBlocks.length; i++) {
+					if(Utilities.areObjectsEqual(oldBlocks[i], notificationBlock)) {
+						position = i;
+						break;
+					}
+				}
+				if(position < 0) {
+					return;
+				}
+				
+				NotificationBlock<T>[] newBlocks = newNotificationBlocks(oldBlocks.length - 1);
+				System.arraycopy(oldBlocks, 0, newBlocks, 0, position);
+				System.arraycopy(oldBlocks, position + 1, newBlocks, position, oldBlocks.length - position - 1);
+				this.notificationBlocks = newBlocks;
+			}
+		}
+		
+		protected void invalidateDependents() {
+			ObserversController<Dependent> dependents = this.dependents;
+			if(dependents != null) {
+				dependents.notifyObservers(Dependent::sourceDidChange, false);
 			}
 		}
 		
 		protected void notifyObservers(@NonNull T newVal, @NonNull T oldVal) {
 			Observable<T> owner = this.getOwner();
 			if(owner != null) {
-				this.getObservers().notifyObservers(observer -> observer.onValueChanged(owner, newVal, oldVal), false);
+				this.getObservers().notifyObservers(Observer::onValueChanged, owner, newVal, oldVal, false);
 			}
+			
+			this.invalidateDependents();
+		}
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Methods - Utilities
+		
+		@SuppressWarnings("unchecked")
+		private static <T> @NonNull NotificationBlock<T>[] newNotificationBlocks(int length) {
+			return (NotificationBlock<T>[])((length == 0) ? EMPTY_NOTIFICATION_BLOCKS : new NotificationBlock<?>[length]);
 		}
 		
 		// endregion
@@ -225,22 +745,24 @@ public class Observable <T>
 			super.setValue(value);
 		}
 		
-		// endregion
-		////////////////////////////////////////////////////////////////////////////////////////////////////
-		// region Methods - Memory
+		@Override public synchronized boolean compareAndSetValue(@NonNull T expectedValue, @NonNull T newValue) {
+			return super.compareAndSetValue(expectedValue, newValue);
+		}
 		
-		public SynchronizedImplementation(@NonNull Observable<T> owner, @NonNull T value) {
-			super(owner, value, Lazy.newSynchronizedInstance(() -> Collections.synchronizedList(new ArrayList<>())), Lazy.newSynchronizedInstance(ObserversController::new));
+		@Override public synchronized @NonNull T getAndUpdateValue(@NonNull UpdateBlock<T> updateBlock) {
+			return super.getAndUpdateValue(updateBlock);
+		}
+		
+		@Override public synchronized @NonNull T updateAndGetValue(@NonNull UpdateBlock<T> updateBlock) {
+			return super.updateAndGetValue(updateBlock);
 		}
 		
 		// endregion
 		////////////////////////////////////////////////////////////////////////////////////////////////////
-		// region Methods - Observers
+		// region Methods - Memory
 		
-		@Override protected void executeNotificationBlocks(@NonNull List<NotificationBlock<T>> notificationBlocks, @NonNull T newVal, @NonNull T oldVal) {
-			synchronized(notificationBlocks) {
-				super.executeNotificationBlocks(notificationBlocks, newVal, oldVal);
-			}
+		public SynchronizedImplementation(@NonNull Observable<T> owner, @NonNull T value) {
+			super(owner, value, Lazy.newSynchronizedInstance(ObserversController::new));
 		}
 		
 		// endregion
@@ -24,10 +24,11 @@
 
 package com.jackfelle.jfkit.utilities;
 
+import com.jackfelle.jfkit.core.operations.BlockOperation;
+import com.jackfelle.jfkit.core.operations.OperationQueue;
+
 import java.lang.ref.WeakReference;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -51,6 +52,18 @@ public class ObservableNullable <T>
 		this.getImplementation().setValue(value);
 	}
 	
+	public boolean compareAndSet(@Nullable T expectedValue, @Nullable T newValue) {
+		return this.getImplementation().compareAndSetValue(expectedValue, newValue);
+	}
+	
+	public @Nullable T getAndUpdate(@NonNull UpdateBlock<T> updateBlock) {
+		return this.getImplementation().getAndUpdateValue(updateBlock);
+	}
+	
+	public @Nullable T updateAndGet(@NonNull UpdateBlock<T> updateBlock) {
+		return this.getImplementation().updateAndGetValue(updateBlock);
+	}
+	
 	private @NonNull ObservableNullable.Implementation<T> getImplementation() {
 		return this.implementation.get(this);
 	}
@@ -59,6 +72,22 @@ public class ObservableNullable <T>
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	// region Methods - Memory
 	
+	public static <T> ObservableNullable<T> newAtomicInstance() {
+		return ObservableNullable.newAtomicInstance(null);
+	}
+	
+	public static <T> ObservableNullable<T> newAtomicInstance(@Nullable T value) {
+		return new ObservableNullable<>(ParameterizedLazy.newSynchronizedInstance(param -> new AtomicImplementation<>(param, value)));
+	}
+	
+	public static <T> ObservableNullable<T> newConflatedInstance(@NonNull OperationQueue queue) {
+		return ObservableNullable.newConflatedInstance(null, queue);
+	}
+	
+	public static <T> ObservableNullable<T> newConflatedInstance(@Nullable T value, @NonNull OperationQueue queue) {
+		return new ObservableNullable<>(ParameterizedLazy.newSynchronizedInstance(param -> new ConflatedImplementation<>(param, value, queue)));
+	}
+	
 	public static <T> ObservableNullable<T> newInstance() {
 		return ObservableNullable.newInstance(null);
 	}
@@ -81,12 +110,38 @@ public class ObservableNullable <T>
 		this.implementation = implementation;
 	}
 	
+	// endregion
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	// region Methods - Operators
+	
+	public static <A, B, R> @NonNull ObservableNullable<R> combine(@NonNull ObservableNullable<A> first, @NonNull ObservableNullable<B> second, @NonNull CombineBlock<A, B, R> combineBlock) {
+		return ObservableNullable.newDerivedInstance(() -> combineBlock.combine(first.get(), second.get()), null, first, second);
+	}
+	
+	public @NonNull ObservableNullable<T> distinctUntilChanged(@NonNull EquivalenceBlock<T> equivalenceBlock) {
+		return ObservableNullable.newDerivedInstance(this::get, equivalenceBlock, this);
+	}
+	
+	public <R> @NonNull ObservableNullable<R> map(@NonNull MapBlock<T, R> mapBlock) {
+		return ObservableNullable.newDerivedInstance(() -> mapBlock.map(this.get()), null, this);
+	}
+	
+	private static <T> @NonNull ObservableNullable<T> newDerivedInstance(@NonNull ValueBlock<T> valueBlock, @Nullable EquivalenceBlock<T> equivalenceBlock, @NonNull ObservableNullable<?>... sources) {
+		return new ObservableNullable<>(ParameterizedLazy.newSynchronizedInstance(param -> {
+			DerivedImplementation<T> retObj = new DerivedImplementation<>(param, valueBlock, equivalenceBlock);
+			for(ObservableNullable<?> source : sources) {
+				source.getImplementation().addDependent(retObj);
+			}
+			return retObj;
+		}));
+	}
+	
 	// endregion
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	// region Methods - Observers
 	
 	public void addNotificationBlock(@NonNull NotificationBlock<T> notificationBlock) {
-		this.getImplementation().getNotificationBlocks().add(notificationBlock);
+		this.getImplementation().addNotificationBlock(notificationBlock);
 	}
 	
 	public void addObserver(@NonNull Observer<T> observer) {
@@ -94,7 +149,7 @@ public class ObservableNullable <T>
 	}
 	
 	public void removeNotificationBlock(@NonNull NotificationBlock<T> notificationBlock) {
-		this.getImplementation().getNotificationBlocks().remove(notificationBlock);
+		this.getImplementation().removeNotificationBlock(notificationBlock);
 	}
 	
 	public void removeObserver(@NonNull Observer<T> observer) {
@@ -105,6 +160,50 @@ public class ObservableNullable <T>
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	// region Interfaces
 	
+	public interface CombineBlock <A, B, R>
+	{
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Methods - Data
+		
+		@Nullable R combine(@Nullable A first, @Nullable B second);
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+	}
+	
+	private interface Dependent
+	{
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Methods - Data
+		
+		void sourceDidChange();
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+	}
+	
+	public interface EquivalenceBlock <T>
+	{
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Methods - Data
+		
+		boolean areEquivalent(@Nullable T value, @Nullable T otherValue);
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+	}
+	
+	public interface MapBlock <T, R>
+	{
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Methods - Data
+		
+		@Nullable R map(@Nullable T value);
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+	}
+	
 	public interface NotificationBlock <T>
 	{
 		////////////////////////////////////////////////////////////////////////////////////////////////
@@ -127,12 +226,356 @@ public class ObservableNullable <T>
 		////////////////////////////////////////////////////////////////////////////////////////////////
 	}
 	
+	public interface UpdateBlock <T>
+	{
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Methods - Data
+		
+		@Nullable T update(@Nullable T value);
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+	}
+	
+	private interface ValueBlock <T>
+	{
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Methods - Data
+		
+		@Nullable T getValue();
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+	}
+	
 	// endregion
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	// region Classes
 	
+	private static class AtomicImplementation <T> extends ObservableNullable.Implementation<T>
+	{
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Properties - Data
+		
+		private final @NonNull AtomicReference<T> atomicValue;
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Properties (Accessors) - Data
+		
+		@Override public @Nullable T getValue() {
+			return this.atomicValue.get();
+		}
+		
+		@Override public void setValue(@Nullable T value) {
+			AtomicReference<T> atomicValue = this.atomicValue;
+			T oldValue;
+			do {
+				oldValue = atomicValue.get();
+				if(Utilities.areObjectsEqual(oldValue, value)) {
+					return;
+				}
+			} while(!atomicValue.compareAndSet(oldValue, value));
+			
+			this.notifyValueChanged(value, oldValue);
+		}
+		
+		@Override public boolean compareAndSetValue(@Nullable T expectedValue, @Nullable T newValue) {
+			AtomicReference<T> atomicValue = this.atomicValue;
+			T oldValue;
+			do {
+				oldValue = atomicValue.get();
+				if(!Utilities.areObjectsEqual(oldValue, expectedValue)) {
+					return false;
+				}
+				if(Utilities.areObjectsEqual(oldValue, newValue)) {
+					return true;
+				}
+			} while(!atomicValue.compareAndSet(oldValue, newValue));
+			
+			this.notifyValueChanged(newValue, oldValue);
+			return true;
+		}
+		
+		@Override public @Nullable T getAndUpdateValue(@NonNull UpdateBlock<T> updateBlock) {
+			return this.updateValue(updateBlock, false);
+		}
+		
+		@Override public @Nullable T updateAndGetValue(@NonNull UpdateBlock<T> updateBlock) {
+			return this.updateValue(updateBlock, true);
+		}
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Methods - Memory
+		
+		public AtomicImplementation(@NonNull ObservableNullable<T> owner, @Nullable T value) {
+			super(owner, value, Lazy.newSynchronizedInstance(ObserversController::new));
+			
+			this.atomicValue = new AtomicReference<>(value);
+		}
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Methods - Observers
+		
+		private void notifyValueChanged(@Nullable T newVal, @Nullable T oldVal) {
+			// Notifications run after the value has been published and without holding any lock.
+			this.executeNotificationBlocks(this.getNotificationBlocks(), newVal, oldVal);
+			this.notifyObservers(newVal, oldVal);
+		}
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Methods - Utilities
+		
+		private @Nullable T updateValue(@NonNull UpdateBlock<T> updateBlock, boolean returnsNewValue) {
+			AtomicReference<T> atomicValue = this.atomicValue;
+			T oldValue;
+			T newValue;
+			do {
+				oldValue = atomicValue.get();
+				newValue = updateBlock.update(oldValue);
+				if(Utilities.areObjectsEqual(oldValue, newValue)) {
+					return oldValue;
+				}
+			} while(!atomicValue.compareAndSet(oldValue, newValue));
+			
+			this.notifyValueChanged(newValue, oldValue);
+			return (returnsNewValue ? newValue : oldValue);
+		}
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+	}
+	
+	private static class ConflatedImplementation <T> extends ObservableNullable.SynchronizedImplementation<T>
+	{
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Properties - Data
+		
+		private @Nullable T notifiedValue;
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Properties - Observers
+		
+		private boolean dispatching;
+		private final @NonNull OperationQueue queue;
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Properties (Accessors) - Data
+		
+		@Override public void setValue(@Nullable T value) {
+			synchronized(this) {
+				if(Utilities.areObjectsEqual(this.value, value)) {
+					return;
+				}
+				
+				this.value = value;
+				
+				// Updates that come in while a dispatch is pending are collapsed into it.
+				if(this.dispatching) {
+					return;
+				}
+				
+				this.dispatching = true;
+			}
+			
+			this.scheduleDispatch();
+		}
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Methods - Memory
+		
+		public ConflatedImplementation(@NonNull ObservableNullable<T> owner, @Nullable T value, @NonNull OperationQueue queue) {
+			super(owner, value);
+			
+			this.dispatching = false;
+			this.notifiedValue = value;
+			this.queue = queue;
+		}
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Methods - Observers
+		
+		private void dispatch() {
+			T newVal;
+			T oldVal;
+			synchronized(this) {
+				newVal = this.value;
+				oldVal = this.notifiedValue;
+				if(Utilities.areObjectsEqual(newVal, oldVal)) {
+					this.dispatching = false;
+					return;
+				}
+				
+				this.notifiedValue = newVal;
+			}
+			
+			// A failing block or observer must not leave the dispatch flag set, or this object would never notify again.
+			try {
+				this.executeNotificationBlocks(this.getNotificationBlocks(), newVal, oldVal);
+				this.notifyObservers(newVal, oldVal);
+			} finally {
+				// Only one dispatch is in flight at any time, so observers always see the changes in order.
+				boolean needsDispatch;
+				synchronized(this) {
+					needsDispatch = !Utilities.areObjectsEqual(this.value, this.notifiedValue);
+					if(!needsDispatch) {
+						this.dispatching = false;
+					}
+				}
+				if(needsDispatch) {
+					this.scheduleDispatch();
+				}
+			}
+		}
+		
+		private void scheduleDispatch() {
+			this.queue.addOperation(new BlockOperation(this::dispatch));
+		}
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+	}
+	
+	private static class DerivedImplementation <T> extends ObservableNullable.Implementation<T> implements Dependent
+	{
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Properties - Data
+		
+		private int computedVersion;
+		private final @Nullable EquivalenceBlock<T> equivalenceBlock;
+		private boolean hasValue;
+		private final @NonNull ValueBlock<T> valueBlock;
+		private int version;
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Properties (Accessors) - Data
+		
+		@Override public @Nullable T getValue() {
+			while(true) {
+				int version;
+				synchronized(this) {
+					version = this.version;
+					if(this.hasValue && (this.computedVersion == version)) {
+						return this.value;
+					}
+				}
+				
+				// Sources are read outside the lock, as they may be notifying this object while holding their own.
+				T value = this.valueBlock.getValue();
+				
+				synchronized(this) {
+					if(this.version != version) {
+						continue;
+					}
+					
+					this.computedVersion = version;
+					if(!this.hasValue || !this.areValuesEquivalent(this.value, value)) {
+						this.hasValue = true;
+						this.value = value;
+					}
+					return this.value;
+				}
+			}
+		}
+		
+		@Override public void setValue(@Nullable T value) {
+			throw new UnsupportedOperationException("Derived observables can't be set.");
+		}
+		
+		private synchronized boolean isDirty() {
+			return (!this.hasValue || (this.computedVersion != this.version));
+		}
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Properties (Accessors) - Observers
+		
+		@Override public @NonNull ObserversController<Observer<T>> getObservers() {
+			this.getValue();
+			return super.getObservers();
+		}
+		
+		private boolean isObserved() {
+			return ((super.getNotificationBlocks().length > 0) || (super.getObservers().getCount() > 0));
+		}
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Methods - Memory
+		
+		public DerivedImplementation(@NonNull ObservableNullable<T> owner, @NonNull ValueBlock<T> valueBlock, @Nullable EquivalenceBlock<T> equivalenceBlock) {
+			super(owner, null, Lazy.newSynchronizedInstance(ObserversController::new));
+			
+			this.computedVersion = 0;
+			this.equivalenceBlock = equivalenceBlock;
+			this.hasValue = false;
+			this.valueBlock = valueBlock;
+			this.version = 0;
+		}
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Methods - Observers
+		
+		@Override public void addNotificationBlock(@NonNull NotificationBlock<T> notificationBlock) {
+			// A value must exist before anyone is told that it changed.
+			this.getValue();
+			super.addNotificationBlock(notificationBlock);
+		}
+		
+		@Override public void sourceDidChange() {
+			boolean wasDirty;
+			T oldVal;
+			synchronized(this) {
+				wasDirty = this.isDirty();
+				this.version++;
+				oldVal = this.value;
+			}
+			
+			// Nobody is listening: stay dirty until the next read and just let the dependents know.
+			if(!this.isObserved()) {
+				if(!wasDirty) {
+					this.invalidateDependents();
+				}
+				return;
+			}
+			
+			T newVal = this.getValue();
+			if(newVal != oldVal) {
+				this.executeNotificationBlocks(super.getNotificationBlocks(), newVal, oldVal);
+				this.notifyObservers(newVal, oldVal);
+			}
+		}
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Methods - Utilities
+		
+		private boolean areValuesEquivalent(@Nullable T value, @Nullable T otherValue) {
+			EquivalenceBlock<T> equivalenceBlock = this.equivalenceBlock;
+			return ((equivalenceBlock == null) ? Utilities.areObjectsEqual(value, otherValue) : equivalenceBlock.areEquivalent(value, otherValue));
+		}
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+	}
+	
 	private static class Implementation <T>
 	{
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Properties - Constants
+		
+		private static final @NonNull NotificationBlock<?>[] EMPTY_NOTIFICATION_BLOCKS = new NotificationBlock<?>[0];
+		
+		// endregion
 		////////////////////////////////////////////////////////////////////////////////////////////////
 		// region Properties - Data
 		
@@ -143,7 +586,8 @@ public class ObservableNullable <T>
 		////////////////////////////////////////////////////////////////////////////////////////////////
 		// region Properties - Observers
 		
-		private final @NonNull Lazy<List<NotificationBlock<T>>> notificationBlocks;
+		private volatile @Nullable ObserversController<Dependent> dependents;
+		private volatile @NonNull NotificationBlock<T>[] notificationBlocks;
 		private final @NonNull Lazy<ObserversController<Observer<T>>> observers;
 		
 		// endregion
@@ -170,12 +614,33 @@ public class ObservableNullable <T>
 			this.notifyObservers(value, old);
 		}
 		
+		public boolean compareAndSetValue(@Nullable T expectedValue, @Nullable T newValue) {
+			if(!Utilities.areObjectsEqual(this.getValue(), expectedValue)) {
+				return false;
+			}
+			
+			this.setValue(newValue);
+			return true;
+		}
+		
+		public @Nullable T getAndUpdateValue(@NonNull UpdateBlock<T> updateBlock) {
+			T retObj = this.getValue();
+			this.setValue(updateBlock.update(retObj));
+			return retObj;
+		}
+		
+		public @Nullable T updateAndGetValue(@NonNull UpdateBlock<T> updateBlock) {
+			T retObj = updateBlock.update(this.getValue());
+			this.setValue(retObj);
+			return retObj;
+		}
+		
 		// endregion
 		////////////////////////////////////////////////////////////////////////////////////////////////
 		// region Properties (Accessors) - Observers
 		
-		public @NonNull List<NotificationBlock<T>> getNotificationBlocks() {
-			return this.notificationBlocks.get();
+		public @NonNull NotificationBlock<T>[] getNotificationBlocks() {
+			return this.notificationBlocks;
 		}
 		
 		public @NonNull ObserversController<Observer<T>> getObservers() {
@@ -187,13 +652,14 @@ public class ObservableNullable <T>
 		// region Methods - Memory
 		
 		public Implementation(@NonNull ObservableNullable<T> owner, @Nullable T value) {
-			this(owner, value, Lazy.newInstance(ArrayList::new), Lazy.newInstance(ObserversController::new));
+			this(owner, value, Lazy.newInstance(ObserversController::new));
 		}
 		
-		protected Implementation(@NonNull ObservableNullable<T> owner, @Nullable T value, @NonNull Lazy<List<NotificationBlock<T>>> notificationBlocks, @NonNull Lazy<ObserversController<Observer<T>>> observers) {
+		protected Implementation(@NonNull ObservableNullable<T> owner, @Nullable T value, @NonNull Lazy<ObserversController<Observer<T>>> observers) {
 			super();
 			
-			this.notificationBlocks = notificationBlocks;
+			this.dependents = null;
+			this.notificationBlocks = newNotificationBlocks(0);
 			this.observers = observers;
 			this.owner = new WeakReference<>(owner);
 			this.value = value;
@@ -203,17 +669,79 @@ public class ObservableNullable <T>
 		////////////////////////////////////////////////////////////////////////////////////////////////////
 		// region Methods - Observers
 		
-		protected void executeNotificationBlocks(@NonNull List<NotificationBlock<T>> notificationBlocks, @Nullable T newVal, @Nullable T oldVal) {
-			for(NotificationBlock<T> block : notificationBlocks) {
-				block.onValueChanged(newVal, oldVal);
+		public void addNotificationBlock(@NonNull NotificationBlock<T> notificationBlock) {
+			synchronized(this) {
+				NotificationBlock<T>[] oldBlocks = this.notificationBlocks;
+				NotificationBlock<T>[] newBlocks = newNotificationBlocks(oldBlocks.length + 1);
+				System.arraycopy(oldBlocks, 0, newBlocks, 0, oldBlocks.length);
+				newBlocks[oldBlocks.length] = notificationBlock;
+				this.notificationBlocks = newBlocks;
+			}
+		}
+		
+		void addDependent(@NonNull Dependent dependent) {
+			ObserversController<Dependent> dependents;
+			synchronized(this) {
+				dependents = this.dependents;
+				if(dependents == null) {
+					dependents = new ObserversController<>();
+					this.dependents = dependents;
+				}
+			}
+			dependents.addObserver(dependent);
+		}
+		
+		protected void executeNotificationBlocks(@NonNull NotificationBlock<T>[] notificationBlocks, @Nullable T newVal, @Nullable T oldVal) {
+			// Blocks are added and removed by swapping the array, so indexing it allocates nothing and nothing shifts under the loop.
+			for(int i = 0; i < notificationBlocks.length; i++) {
+				notificationBlocks[i].onValueChanged(newVal, oldVal);
+			}
+		}
+		
+		public void removeNotificationBlock(@NonNull NotificationBlock<T> notificationBlock) {
+			synchronized(this) {
+				NotificationBlock<T>[] oldBlocks = this.notificationBlocks;
+				int position = -1;
+				for(int i = 0; i < oldBlocks.length; i++) {
+					if(Utilities.areObjectsEqual(oldBlocks[i], notificationBlock)) {
+						position = i;
+						break;
+					}
+				}
+				if(position < 0) {
+					return;
+				}
+				
+				NotificationBlock<T>[] newBlocks = newNotificationBlocks(oldBlocks.length - 1);
+				System.arraycopy(oldBlocks, 0, newBlocks, 0, position);
+				System.arraycopy(oldBlocks, position + 1, newBlocks, position, oldBlocks.length - position - 1);
+				this.notificationBlocks = newBlocks;
+			}
+		}
+		
+		protected void invalidateDependents() {
+			ObserversController<Dependent> dependents = this.dependents;
+			if(dependents != null) {
+				dependents.notifyObservers(Dependent::sourceDidChange, false);
 			}
 		}
 		
 		protected void notifyObservers(@Nullable T newVal, @Nullable T oldVal) {
 			ObservableNullable<T> owner = this.getOwner();
 			if(owner != null) {
-				this.getObservers().notifyObservers(observer -> observer.onValueChanged(owner, newVal, oldVal), false);
+				this.getObservers().notifyObservers(Observer::onValueChanged, owner, newVal, oldVal, false);
 			}
+			
+			this.invalidateDependents();
+		}
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Methods - Utilities
+		
+		@SuppressWarnings("unchecked")
+		private static <T> @NonNull NotificationBlock<T>[] newNotificationBlocks(int length) {
+			return (NotificationBlock<T>[])((length == 0) ? EMPTY_NOTIFICATION_BLOCKS : new NotificationBlock<?>[length]);
 		}
 		
 		// endregion
@@ -233,22 +761,24 @@ public class ObservableNullable <T>
 			super.setValue(value);
 		}
 		
-		// endregion
-		////////////////////////////////////////////////////////////////////////////////////////////////////
-		// region Methods - Memory
+		@Override public synchronized boolean compareAndSetValue(@Nullable T expectedValue, @Nullable T newValue) {
+			return super.compareAndSetValue(expectedValue, newValue);
+		}
 		
-		public SynchronizedImplementation(@NonNull ObservableNullable<T> owner, @Nullable T value) {
-			super(owner, value, Lazy.newSynchronizedInstance(() -> Collections.synchronizedList(new ArrayList<>())), Lazy.newSynchronizedInstance(ObserversController::new));
+		@Override public synchronized @Nullable T getAndUpdateValue(@NonNull UpdateBlock<T> updateBlock) {
+			return super.getAndUpdateValue(updateBlock);
+		}
+		
+		@Override public synchronized @Nullable T updateAndGetValue(@NonNull UpdateBlock<T> updateBlock) {
+			return super.updateAndGetValue(updateBlock);
 		}
 		
 		// endregion
 		////////////////////////////////////////////////////////////////////////////////////////////////////
-		// region Methods - Observers
+		// region Methods - Memory
 		
-		@Override protected void executeNotificationBlocks(@NonNull List<NotificationBlock<T>> notificationBlocks, @Nullable T newVal, @Nullable T oldVal) {
-			synchronized(notificationBlocks) {
-				super.executeNotificationBlocks(notificationBlocks, newVal, oldVal);
-			}
+		public SynchronizedImplementation(@NonNull ObservableNullable<T> owner, @Nullable T value) {
+			super(owner, value, Lazy.newSynchronizedInstance(ObserversController::new));
 		}
 		
 		// endregion
@@ -24,106 +24,109 @@
 
 package com.jackfelle.jfkit.utilities;
 
+import android.util.Log;
+
 import com.jackfelle.jfkit.core.operations.BlockOperation;
-import com.jackfelle.jfkit.core.operations.Operation;
 import com.jackfelle.jfkit.core.operations.OperationQueue;
-import com.jackfelle.jfkit.data.Blocks;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 public class ObserversController <T>
 {
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	// region Properties - Constants
+	
+	private static final @NonNull ObserverReference<?>[] EMPTY_REFERENCES = new ObserverReference<?>[0];
+	
+	// endregion
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	// region Properties - Notifications
+	
+	private static final @NonNull Lazy<OperationQueue> NOTIFICATION_QUEUE;
+	
+	// endregion
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	// region Properties - Reaper
+	
+	private static final @NonNull Lazy<Thread> REAPER;
+	private static final @NonNull ReferenceQueue<Object> REFERENCE_QUEUE = new ReferenceQueue<>();
+	
+	// endregion
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	// region Properties
 	
-	private boolean needsCleanUp;
-	private final @NonNull OperationQueue queue;
-	private final @NonNull List<WeakReference<T>> references;
+	private final @NonNull Map<Integer, List<ObserverReference<T>>> index;
+	private volatile @NonNull ObserverReference<T>[] references;
 	
 	// endregion
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	// region Properties (Accessors)
 	
 	public int getCount() {
-		List<WeakReference<T>> references = this.getReferences();
-		synchronized(references) {
-			int retVal = 0;
-			for(WeakReference<T> reference : references) {
-				if(reference.get() != null) {
-					retVal++;
-				} else {
-					this.setNeedsCleanUp(true);
-				}
+		int retVal = 0;
+		for(ObserverReference<T> reference : this.getReferences()) {
+			if(reference.get() != null) {
+				retVal++;
 			}
-			return retVal;
 		}
+		return retVal;
 	}
 	
-	protected boolean needsCleanUp() {
-		return this.needsCleanUp;
+	private @NonNull Map<Integer, List<ObserverReference<T>>> getIndex() {
+		return this.index;
 	}
 	
-	protected void setNeedsCleanUp(boolean needsCleanUp) {
-		if(needsCleanUp) {
-			if(this.needsCleanUp) {
-				return;
-			}
-			
-			this.needsCleanUp = true;
-			
-			WeakReference<ObserversController<T>> weakThis = new WeakReference<>(this);
-			Operation operation = new BlockOperation(() -> {
-				ObserversController<T> strongThis = weakThis.get();
-				if(strongThis != null) {
-					strongThis.cleanUpIfNeeded();
-				}
-			});
-			operation.setQueuePriority(Operation.QueuePriority.VERY_LOW);
-			this.getQueue().addOperation(operation);
-		} else {
-			this.needsCleanUp = false;
-		}
-	}
-	
-	private @NonNull List<T> getObservers() {
-		List<WeakReference<T>> references = this.getReferences();
-		List<T> retObj = new ArrayList<>(references.size());
-		synchronized(references) {
-			for(WeakReference<T> reference : references) {
-				T observer = reference.get();
-				if(observer == null) {
-					this.setNeedsCleanUp(true);
-				} else {
-					retObj.add(observer);
-				}
-			}
-		}
-		return retObj;
+	// Collected observers are now removed by the reaper thread: these are kept for subclasses and do nothing.
+	@Deprecated protected boolean needsCleanUp() {
+		return false;
 	}
 	
-	private @NonNull OperationQueue getQueue() {
-		return this.queue;
+	@Deprecated protected void setNeedsCleanUp(boolean needsCleanUp) {
+		// Nothing to do.
 	}
 	
-	private @NonNull List<WeakReference<T>> getReferences() {
+	private static @NonNull OperationQueue getNotificationQueue() {
+		return ObserversController.NOTIFICATION_QUEUE.get();
+	}
+	
+	private @NonNull ObserverReference<T>[] getReferences() {
 		return this.references;
 	}
 	
+	private void setReferences(@NonNull ObserverReference<T>[] references) {
+		this.references = references;
+	}
+	
 	// endregion
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	// region Methods - Memory
 	
+	static {
+		// Shared by every controller: bounded to the processor count and backed by pooled threads, so that a slow observer can't make asynchronous notifications spawn a thread each.
+		NOTIFICATION_QUEUE = Lazy.newSynchronizedInstance(() -> OperationQueue.newQueue(ObserversController.class.getSimpleName() + ".notifications", 0, OperationQueue.getSharedWorkerPool()));
+		REAPER = Lazy.newSynchronizedInstance(() -> {
+			Thread retObj = new Thread(ObserversController::reap, ObserversController.class.getSimpleName() + ".reaper");
+			retObj.setDaemon(true);
+			retObj.start();
+			return retObj;
+		});
+	}
+	
+	@SuppressWarnings("unchecked")
 	public ObserversController() {
 		super();
 		
-		this.needsCleanUp = false;
-		this.queue = OperationQueue.newConcurrentQueue(this.getClass().getSimpleName());
-		this.references = new ArrayList<>();
+		this.index = new HashMap<>();
+		this.references = (ObserverReference<T>[])EMPTY_REFERENCES;
 	}
 	
 	// endregion
@@ -136,24 +139,71 @@ public class ObserversController <T>
 	
 	public void notifyObservers(@NonNull NotificationBlock<T> notificationBlock, boolean async) {
 		if(async) {
-			this.notifyObservers(this.getQueue(), notificationBlock, false);
+			this.notifyObservers(ObserversController.getNotificationQueue(), notificationBlock, false);
 			return;
 		}
 		
-		for(T observer : this.getObservers()) {
-			notificationBlock.execute(observer);
-		}
+		this.notifyObservers(this.getReferences(), notificationBlock);
 	}
 	
 	public void notifyObservers(@NonNull OperationQueue queue, @NonNull NotificationBlock<T> notificationBlock, boolean waitUntilFinished) {
-		List<T> observers = this.getObservers();
-		List<Blocks.Block> blocks = new ArrayList<>(observers.size());
+		// The snapshot is immutable, so a single block can walk it later on the queue.
+		ObserverReference<T>[] references = this.getReferences();
+		if(references.length > 0) {
+			queue.addOperation(new BlockOperation(() -> this.notifyObservers(references, notificationBlock)), waitUntilFinished);
+		}
+	}
+	
+	public <O> void notifyObservers(@NonNull NotificationBlockWithObject<T, O> notificationBlock, O object, boolean async) {
+		ObserverReference<T>[] references = this.getReferences();
+		if(async) {
+			if(references.length > 0) {
+				ObserversController.getNotificationQueue().addOperation(new BlockOperation(() -> this.notifyObservers(references, notificationBlock, object)));
+			}
+			return;
+		}
 		
-		for(T observer : observers) {
-			blocks.add(() -> notificationBlock.execute(observer));
+		this.notifyObservers(references, notificationBlock, object);
+	}
+	
+	public <O1, O2, O3> void notifyObservers(@NonNull NotificationBlockWithObjects<T, O1, O2, O3> notificationBlock, O1 object1, O2 object2, O3 object3, boolean async) {
+		ObserverReference<T>[] references = this.getReferences();
+		if(async) {
+			if(references.length > 0) {
+				ObserversController.getNotificationQueue().addOperation(new BlockOperation(() -> this.notifyObservers(references, notificationBlock, object1, object2, object3)));
+			}
+			return;
 		}
 		
-		queue.addOperation(new BlockOperation(blocks), waitUntilFinished);
+		this.notifyObservers(references, notificationBlock, object1, object2, object3);
+	}
+	
+	private void notifyObservers(@NonNull ObserverReference<T>[] references, @NonNull NotificationBlock<T> notificationBlock) {
+		// The snapshot is never modified once published, so it can be walked without locking.
+		for(ObserverReference<T> reference : references) {
+			T observer = reference.get();
+			if(observer != null) {
+				notificationBlock.execute(observer);
+			}
+		}
+	}
+	
+	private <O> void notifyObservers(@NonNull ObserverReference<T>[] references, @NonNull NotificationBlockWithObject<T, O> notificationBlock, O object) {
+		for(ObserverReference<T> reference : references) {
+			T observer = reference.get();
+			if(observer != null) {
+				notificationBlock.execute(observer, object);
+			}
+		}
+	}
+	
+	private <O1, O2, O3> void notifyObservers(@NonNull ObserverReference<T>[] references, @NonNull NotificationBlockWithObjects<T, O1, O2, O3> notificationBlock, O1 object1, O2 object2, O3 object3) {
+		for(ObserverReference<T> reference : references) {
+			T observer = reference.get();
+			if(observer != null) {
+				notificationBlock.execute(observer, object1, object2, object3);
+			}
+		}
 	}
 	
 	// endregion
@@ -161,72 +211,120 @@ public class ObserversController <T>
 	// region Methods - Observers
 	
 	public void addObserver(@NonNull T observer) {
-		List<WeakReference<T>> references = this.getReferences();
-		synchronized(references) {
-			WeakReference<T> oldReference = this.getReferenceForObserver(observer);
+		Map<Integer, List<ObserverReference<T>>> index = this.getIndex();
+		synchronized(index) {
+			int hash = System.identityHashCode(observer);
+			List<ObserverReference<T>> bucket = index.get(hash);
+			if(bucket == null) {
+				bucket = new ArrayList<>(1);
+				index.put(hash, bucket);
+			} else if(this.getReferenceForObserver(bucket, observer) != null) {
+				return;
+			}
+			
+			ObserverReference<T> reference = new ObserverReference<>(observer, hash, this);
+			bucket.add(reference);
+			
+			ObserverReference<T>[] oldReferences = this.getReferences();
+			ObserverReference<T>[] newReferences = newReferences(oldReferences.length + 1);
+			System.arraycopy(oldReferences, 0, newReferences, 0, oldReferences.length);
+			newReferences[oldReferences.length] = reference;
+			this.setReferences(newReferences);
+		}
+	}
+	
+	public void removeObserver(@NonNull T observer) {
+		Map<Integer, List<ObserverReference<T>>> index = this.getIndex();
+		synchronized(index) {
+			List<ObserverReference<T>> bucket = index.get(System.identityHashCode(observer));
+			ObserverReference<T> oldReference = ((bucket == null) ? null : this.getReferenceForObserver(bucket, observer));
 			if(oldReference == null) {
-				references.add(new WeakReference<>(observer));
+				return;
 			}
+			
+			this.removeReference(oldReference);
 		}
 	}
 	
-	private void cleanUp() {
-		List<WeakReference<T>> references = this.getReferences();
-		synchronized(references) {
-			List<WeakReference<T>> obsolete = new ArrayList<>(references.size());
-			for(WeakReference<T> reference : references) {
-				if(reference.get() == null) {
-					obsolete.add(reference);
+	private void removeReference(@NonNull ObserverReference<T> oldReference) {
+		Map<Integer, List<ObserverReference<T>>> index = this.getIndex();
+		synchronized(index) {
+			ObserverReference<T>[] oldReferences = this.getReferences();
+			int position = -1;
+			for(int i = 0; i < oldReferences.length; i++) {
+				if(oldReferences[i] == oldReference) {
+					position = i;
+					break;
 				}
 			}
-			references.removeAll(obsolete);
+			
+			// Already removed, either explicitly or by a previous pass of the reaper.
+			if(position < 0) {
+				return;
+			}
+			
+			this.removeFromIndex(oldReference);
+			
+			ObserverReference<T>[] newReferences = newReferences(oldReferences.length - 1);
+			System.arraycopy(oldReferences, 0, newReferences, 0, position);
+			System.arraycopy(oldReferences, position + 1, newReferences, position, oldReferences.length - position - 1);
+			this.setReferences(newReferences);
 		}
 	}
 	
-	private void cleanUpIfNeeded() {
-		if(this.needsCleanUp()) {
-			this.cleanUp();
-			this.setNeedsCleanUp(false);
+	// endregion
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	// region Methods - Utilities
+	
+	protected @Nullable WeakReference<T> getReferenceForObserver(@NonNull T observer) {
+		Map<Integer, List<ObserverReference<T>>> index = this.getIndex();
+		synchronized(index) {
+			List<ObserverReference<T>> bucket = index.get(System.identityHashCode(observer));
+			return ((bucket == null) ? null : this.getReferenceForObserver(bucket, observer));
 		}
 	}
 	
-	public void removeObserver(@NonNull T observer) {
-		List<WeakReference<T>> references = this.getReferences();
-		synchronized(references) {
-			WeakReference<T> oldReference = this.getReferenceForObserver(observer);
-			if(oldReference != null) {
-				references.remove(oldReference);
+	private @Nullable ObserverReference<T> getReferenceForObserver(@NonNull List<ObserverReference<T>> bucket, @NonNull T observer) {
+		for(ObserverReference<T> reference : bucket) {
+			if(reference.get() == observer) {
+				return reference;
 			}
 		}
+		return null;
 	}
 	
-	// endregion
-	////////////////////////////////////////////////////////////////////////////////////////////////////
-	// region Methods - Utilities
+	@SuppressWarnings("unchecked")
+	private static <T> @NonNull ObserverReference<T>[] newReferences(int length) {
+		return (ObserverReference<T>[])((length == 0) ? EMPTY_REFERENCES : new ObserverReference<?>[length]);
+	}
 	
-	protected @Nullable WeakReference<T> getReferenceForObserver(@NonNull T observer) {
-		List<WeakReference<T>> references = this.getReferences();
-		synchronized(references) {
-			boolean needsCleanUp = false;
-			WeakReference<T> retObj = null;
-			
-			for(WeakReference<T> reference : references) {
-				T temp = reference.get();
-				if(temp == null) {
-					needsCleanUp = true;
-				}
-				
-				if(temp == observer) {
-					retObj = reference;
-					break;
-				}
+	private static void reap() {
+		while(true) {
+			Reference<?> reference;
+			try {
+				reference = REFERENCE_QUEUE.remove();
+			} catch(InterruptedException e) {
+				Log.w(ObserversController.class.getSimpleName(), "Reaper interrupted.", e);
+				continue;
 			}
 			
-			if(needsCleanUp) {
-				this.setNeedsCleanUp(true);
+			if(reference instanceof ObserverReference) {
+				ObserverReference<?> observerReference = (ObserverReference<?>)reference;
+				observerReference.reap();
 			}
-			
-			return retObj;
+		}
+	}
+	
+	private void removeFromIndex(@NonNull ObserverReference<T> reference) {
+		Map<Integer, List<ObserverReference<T>>> index = this.getIndex();
+		List<ObserverReference<T>> bucket = index.get(reference.getHash());
+		if(bucket == null) {
+			return;
+		}
+		
+		bucket.remove(reference);
+		if(bucket.isEmpty()) {
+			index.remove(reference.getHash());
 		}
 	}
 	
@@ -239,6 +337,57 @@ public class ObserversController <T>
 		void execute(@NonNull T observer);
 	}
 	
+	public interface NotificationBlockWithObject <T, O>
+	{
+		void execute(@NonNull T observer, O object);
+	}
+	
+	public interface NotificationBlockWithObjects <T, O1, O2, O3>
+	{
+		void execute(@NonNull T observer, O1 object1, O2 object2, O3 object3);
+	}
+	
+	// endregion
+	////////////////////////////////////////////////////////////////////////////////////////////////////
+	// region Classes
+	
+	private static final class ObserverReference <T> extends WeakReference<T>
+	{
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Properties
+		
+		private final @NonNull ObserversController<T> controller;
+		private final int hash;
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Properties (Accessors)
+		
+		int getHash() {
+			return this.hash;
+		}
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Methods - Memory
+		
+		ObserverReference(@NonNull T observer, int hash, @NonNull ObserversController<T> controller) {
+			super(observer, REFERENCE_QUEUE);
+			
+			this.controller = controller;
+			this.hash = hash;
+			
+			REAPER.get();
+		}
+		
+		void reap() {
+			this.controller.removeReference(this);
+		}
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+	}
+	
 	// endregion
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 }
@@ -57,7 +57,11 @@ public class Optional <T>
 	// region Methods - Memory
 	
 	public static <T> Optional<T> newInstance(@NonNull Builder<T> builder) {
-		return new Optional<>(new Implementation<>(builder));
+		return new Optional<>(new UnsynchronizedImplementation<>(builder));
+	}
+	
+	public static <T> Optional<T> newRacyInstance(@NonNull Builder<T> builder) {
+		return new Optional<>(new RacyImplementation<>(builder));
 	}
 	
 	public static <T> Optional<T> newSynchronizedInstance(@NonNull Builder<T> builder) {
@@ -89,13 +93,12 @@ public class Optional <T>
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	// region Classes
 	
-	private static class Implementation <T>
+	private static abstract class Implementation <T>
 	{
 		////////////////////////////////////////////////////////////////////////////////////////////////
 		// region Properties - Data
 		
 		private final @NonNull Builder<T> builder;
-		protected @Nullable WeakReference<T> value;
 		
 		// endregion
 		////////////////////////////////////////////////////////////////////////////////////////////////
@@ -105,7 +108,36 @@ public class Optional <T>
 			return this.builder;
 		}
 		
-		public @NonNull T getValue() {
+		public abstract @NonNull T getValue();
+		
+		public abstract @Nullable T optValue();
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Methods - Memory
+		
+		public Implementation(@NonNull Builder<T> builder) {
+			super();
+			
+			this.builder = builder;
+		}
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+	}
+	
+	private static class UnsynchronizedImplementation <T> extends Implementation<T>
+	{
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Properties - Data
+		
+		private @Nullable WeakReference<T> value;
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Properties (Accessors) - Data
+		
+		@Override public @NonNull T getValue() {
 			T retObj = this.optValue();
 			if(retObj == null) {
 				retObj = this.getBuilder().build();
@@ -114,7 +146,7 @@ public class Optional <T>
 			return retObj;
 		}
 		
-		public @Nullable T optValue() {
+		@Override public @Nullable T optValue() {
 			return Utilities.unwrapObject(this.value);
 		}
 		
@@ -122,27 +154,69 @@ public class Optional <T>
 		////////////////////////////////////////////////////////////////////////////////////////////////////
 		// region Methods - Memory
 		
-		public Implementation(@NonNull Builder<T> builder) {
-			super();
-			
-			this.builder = builder;
+		public UnsynchronizedImplementation(@NonNull Builder<T> builder) {
+			super(builder);
 		}
 		
 		// endregion
 		////////////////////////////////////////////////////////////////////////////////////////////////
 	}
 	
-	private static class SynchronizedImplementation <T> extends Implementation<T>
+	private static class RacyImplementation <T> extends Implementation<T>
 	{
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Properties - Data
+		
+		protected volatile @Nullable WeakReference<T> value;
+		
+		// endregion
 		////////////////////////////////////////////////////////////////////////////////////////////////
 		// region Properties (Accessors) - Data
 		
-		@Override public synchronized @NonNull T getValue() {
-			return super.getValue();
+		@Override public @NonNull T getValue() {
+			T retObj = this.optValue();
+			if(retObj == null) {
+				retObj = this.getBuilder().build();
+				this.value = Utilities.weakWrapObject(retObj);
+			}
+			return retObj;
+		}
+		
+		@Override public @Nullable T optValue() {
+			return Utilities.unwrapObject(this.value);
+		}
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Methods - Memory
+		
+		public RacyImplementation(@NonNull Builder<T> builder) {
+			super(builder);
 		}
 		
-		@Override public synchronized @Nullable T optValue() {
-			return super.optValue();
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+	}
+	
+	private static class SynchronizedImplementation <T> extends RacyImplementation<T>
+	{
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Properties (Accessors) - Data
+		
+		@Override public @NonNull T getValue() {
+			T retObj = this.optValue();
+			if(retObj != null) {
+				return retObj;
+			}
+			
+			synchronized(this) {
+				retObj = this.optValue();
+				if(retObj == null) {
+					retObj = this.getBuilder().build();
+					this.value = Utilities.weakWrapObject(retObj);
+				}
+				return retObj;
+			}
 		}
 		
 		// endregion
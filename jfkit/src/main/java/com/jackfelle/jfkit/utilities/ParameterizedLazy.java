@@ -51,7 +51,11 @@ public class ParameterizedLazy <T, P>
 	// region Methods - Memory
 	
 	public static <T, P> ParameterizedLazy<T, P> newInstance(@NonNull Builder<T, P> builder) {
-		return new ParameterizedLazy<>(new Implementation<>(builder));
+		return new ParameterizedLazy<>(new UnsynchronizedImplementation<>(builder));
+	}
+	
+	public static <T, P> ParameterizedLazy<T, P> newRacyInstance(@NonNull Builder<T, P> builder) {
+		return new ParameterizedLazy<>(new RacyImplementation<>(builder));
 	}
 	
 	public static <T, P> ParameterizedLazy<T, P> newSynchronizedInstance(@NonNull Builder<T, P> builder) {
@@ -83,13 +87,12 @@ public class ParameterizedLazy <T, P>
 	////////////////////////////////////////////////////////////////////////////////////////////////////
 	// region Classes
 	
-	private static class Implementation <T, P>
+	private static abstract class Implementation <T, P>
 	{
 		////////////////////////////////////////////////////////////////////////////////////////////////
 		// region Properties - Data
 		
 		private final @NonNull Builder<T, P> builder;
-		protected @Nullable T value;
 		
 		// endregion
 		////////////////////////////////////////////////////////////////////////////////////////////////
@@ -99,7 +102,34 @@ public class ParameterizedLazy <T, P>
 			return this.builder;
 		}
 		
-		public @NonNull T getValue(@NonNull P param) {
+		public abstract @NonNull T getValue(@NonNull P param);
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Methods - Memory
+		
+		public Implementation(@NonNull Builder<T, P> builder) {
+			super();
+			
+			this.builder = builder;
+		}
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+	}
+	
+	private static class UnsynchronizedImplementation <T, P> extends Implementation<T, P>
+	{
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Properties - Data
+		
+		private @Nullable T value;
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Properties (Accessors) - Data
+		
+		@Override public @NonNull T getValue(@NonNull P param) {
 			T retObj = this.value;
 			if(retObj == null) {
 				retObj = this.getBuilder().build(param);
@@ -112,17 +142,47 @@ public class ParameterizedLazy <T, P>
 		////////////////////////////////////////////////////////////////////////////////////////////////////
 		// region Methods - Memory
 		
-		public Implementation(@NonNull Builder<T, P> builder) {
-			super();
-			
-			this.builder = builder;
+		public UnsynchronizedImplementation(@NonNull Builder<T, P> builder) {
+			super(builder);
 		}
 		
 		// endregion
 		////////////////////////////////////////////////////////////////////////////////////////////////
 	}
 	
-	private static class SynchronizedImplementation <T, P> extends Implementation<T, P>
+	private static class RacyImplementation <T, P> extends Implementation<T, P>
+	{
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Properties - Data
+		
+		protected volatile @Nullable T value;
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Properties (Accessors) - Data
+		
+		@Override public @NonNull T getValue(@NonNull P param) {
+			T retObj = this.value;
+			if(retObj == null) {
+				retObj = this.getBuilder().build(param);
+				this.value = retObj;
+			}
+			return retObj;
+		}
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////////
+		// region Methods - Memory
+		
+		public RacyImplementation(@NonNull Builder<T, P> builder) {
+			super(builder);
+		}
+		
+		// endregion
+		////////////////////////////////////////////////////////////////////////////////////////////////
+	}
+	
+	private static class SynchronizedImplementation <T, P> extends RacyImplementation<T, P>
 	{
 		////////////////////////////////////////////////////////////////////////////////////////////////
 		// region Properties (Accessors) - Data
@@ -134,7 +194,12 @@ public class ParameterizedLazy <T, P>
 			}
 			
 			synchronized(this) {
-				return super.getValue(param);
+				retObj = this.value;
+				if(retObj == null) {
+					retObj = this.getBuilder().build(param);
+					this.value = retObj;
+				}
+				return retObj;
 			}
 		}
 		
@@ -0,0 +1,69 @@
+//
+//	The MIT License (MIT)
+//
+//	Copyright © 2017-2024 Jacopo Filié
+//
+//	Permission is hereby granted, free of charge, to any person obtaining a copy
+//	of this software and associated documentation files (the "Software"), to deal
+//	in the Software without restriction, including without limitation the rights
+//	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//	copies of the Software, and to permit persons to whom the Software is
+//	furnished to do so, subject to the following conditions:
+//
+//	The above copyright notice and this permission notice shall be included in all
+//	copies or substantial portions of the Software.
+//
+//	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//	SOFTWARE.
+//
+
+
+package com.jackfelle.jfkit;
+
+import org.junit.Assume;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+
+// Helpers for the benchmarks of the unit test source set: they are skipped unless the build is run with -Pjfkit.benchmarks=true.
+public final class Benchmarks
+{
+	public static final String PROPERTY = "jfkit.benchmarks";
+	
+	private Benchmarks() {}
+	
+	public static void assumeEnabled() {
+		Assume.assumeTrue("Benchmarks are only run with -P" + PROPERTY + "=true.", Boolean.getBoolean(PROPERTY));
+	}
+	
+	public static long measureAllocatedBytes(Runnable block) {
+		// Only HotSpot-derived JVMs count per-thread allocations; elsewhere the benchmark is skipped.
+		Assume.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+		com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+		Assume.assumeTrue(bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled());
+		
+		long threadID = Thread.currentThread().getId();
+		long start = bean.getThreadAllocatedBytes(threadID);
+		block.run();
+		return bean.getThreadAllocatedBytes(threadID) - start;
+	}
+	
+	public static long measureUsedHeap() {
+		Runtime runtime = Runtime.getRuntime();
+		long retVal = Long.MAX_VALUE;
+		for(int i = 0; i < 5; i++) {
+			System.gc();
+			retVal = Math.min(retVal, runtime.totalMemory() - runtime.freeMemory());
+		}
+		return retVal;
+	}
+	
+	public static void report(String name, String format, Object... args) {
+		System.out.println(String.format(Locale.US, "[benchmark] %s: ", name) + String.format(Locale.US, format, args));
+	}
+}
@@ -0,0 +1,81 @@
+//
+//	The MIT License (MIT)
+//
+//	Copyright © 2017-2024 Jacopo Filié
+//
+//	Permission is hereby granted, free of charge, to any person obtaining a copy
+//	of this software and associated documentation files (the "Software"), to deal
+//	in the Software without restriction, including without limitation the rights
+//	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//	copies of the Software, and to permit persons to whom the Software is
+//	furnished to do so, subject to the following conditions:
+//
+//	The above copyright notice and this permission notice shall be included in all
+//	copies or substantial portions of the Software.
+//
+//	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//	SOFTWARE.
+//
+
+
+package com.jackfelle.jfkit.core.operations;
+
+import android.os.Looper;
+
+import com.jackfelle.jfkit.Benchmarks;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.LooperMode;
+import org.robolectric.shadows.ShadowLooper;
+import org.robolectric.shadows.ShadowSystemClock;
+
+import java.time.Duration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+@Config(sdk = 34)
+@LooperMode(LooperMode.Mode.PAUSED)
+@RunWith(RobolectricTestRunner.class)
+public class MainQueueBenchmark
+{
+	@Test public void drainBatchesSmallOperations() {
+		Benchmarks.assumeEnabled();
+		
+		int count = 500;
+		long budget = 8;
+		OperationQueue queue = OperationQueue.getMainQueue();
+		queue.setMainDispatchTimeBudget(budget);
+		int[] executed = new int[1];
+		for(int i = 0; i < count; i++) {
+			queue.addOperation(() -> {
+				executed[0]++;
+				ShadowSystemClock.advanceBy(Duration.ofMillis(1));
+			});
+		}
+		
+		ShadowLooper looper = shadowOf(Looper.getMainLooper());
+		int messages = 0;
+		long start = System.nanoTime();
+		while((executed[0] < count) && (messages < count)) {
+			looper.runOneTask();
+			messages++;
+		}
+		long elapsed = System.nanoTime() - start;
+		
+		Benchmarks.report("Main queue drain", "%,d operations of 1ms with a %dms budget: %d messages, %.0f ns/operation", count, budget, messages, (double)elapsed / count);
+		
+		// Posting each operation on its own would take one message per operation.
+		assertEquals(count, executed[0]);
+		assertTrue(messages <= (count + budget - 1) / budget + 1);
+	}
+}
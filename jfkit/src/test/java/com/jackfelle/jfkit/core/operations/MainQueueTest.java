@@ -0,0 +1,84 @@
+//
+//	The MIT License (MIT)
+//
+//	Copyright © 2017-2024 Jacopo Filié
+//
+//	Permission is hereby granted, free of charge, to any person obtaining a copy
+//	of this software and associated documentation files (the "Software"), to deal
+//	in the Software without restriction, including without limitation the rights
+//	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//	copies of the Software, and to permit persons to whom the Software is
+//	furnished to do so, subject to the following conditions:
+//
+//	The above copyright notice and this permission notice shall be included in all
+//	copies or substantial portions of the Software.
+//
+//	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//	SOFTWARE.
+//
+
+
+package com.jackfelle.jfkit.core.operations;
+
+import android.os.Looper;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.LooperMode;
+import org.robolectric.shadows.ShadowLooper;
+import org.robolectric.shadows.ShadowSystemClock;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.robolectric.Shadows.shadowOf;
+
+@Config(sdk = 34)
+@LooperMode(LooperMode.Mode.PAUSED)
+@RunWith(RobolectricTestRunner.class)
+public class MainQueueTest
+{
+	@Test public void drainYieldsWhenTimeBudgetIsSpent() {
+		OperationQueue queue = OperationQueue.getMainQueue();
+		queue.setMainDispatchTimeBudget(8);
+		List<Integer> executed = new ArrayList<>();
+		for(int i = 0; i < 6; i++) {
+			int index = i;
+			queue.addOperation(() -> {
+				executed.add(index);
+				ShadowSystemClock.advanceBy(Duration.ofMillis(5));
+			});
+		}
+		
+		// Each message runs operations until the budget is spent, then the rest waits for the next one.
+		ShadowLooper looper = shadowOf(Looper.getMainLooper());
+		looper.runOneTask();
+		assertEquals(2, executed.size());
+		looper.runOneTask();
+		assertEquals(4, executed.size());
+		looper.idle();
+		assertEquals(6, executed.size());
+	}
+	
+	@Test public void drainRunsEverythingWithinBudget() {
+		OperationQueue queue = OperationQueue.getMainQueue();
+		queue.setMainDispatchTimeBudget(8);
+		List<Integer> executed = new ArrayList<>();
+		for(int i = 0; i < 100; i++) {
+			queue.addOperation(() -> executed.add(executed.size()));
+		}
+		
+		// The clock doesn't move, so a single message drains the whole backlog.
+		shadowOf(Looper.getMainLooper()).runOneTask();
+		assertEquals(100, executed.size());
+	}
+}
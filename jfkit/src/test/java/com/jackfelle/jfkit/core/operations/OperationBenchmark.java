@@ -0,0 +1,79 @@
+//
+//	The MIT License (MIT)
+//
+//	Copyright © 2017-2024 Jacopo Filié
+//
+//	Permission is hereby granted, free of charge, to any person obtaining a copy
+//	of this software and associated documentation files (the "Software"), to deal
+//	in the Software without restriction, including without limitation the rights
+//	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//	copies of the Software, and to permit persons to whom the Software is
+//	furnished to do so, subject to the following conditions:
+//
+//	The above copyright notice and this permission notice shall be included in all
+//	copies or substantial portions of the Software.
+//
+//	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//	SOFTWARE.
+//
+
+
+package com.jackfelle.jfkit.core.operations;
+
+import com.jackfelle.jfkit.Benchmarks;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class OperationBenchmark
+{
+	private static final int COUNT = 100000;
+	
+	@Test public void operationFootprint() {
+		Benchmarks.assumeEnabled();
+		
+		List<Operation> warmUp = newOperations();
+		warmUp.clear();
+		
+		long before = Benchmarks.measureUsedHeap();
+		long start = System.nanoTime();
+		List<Operation> operations = newOperations();
+		long elapsed = System.nanoTime() - start;
+		double bytesPerOperation = (double)(Benchmarks.measureUsedHeap() - before) / COUNT;
+		
+		Benchmarks.report("Operation construction", "%,d operations: %.0f ns/operation, %.0f bytes/operation", COUNT, (double)elapsed / COUNT, bytesPerOperation);
+		
+		OperationQueue queue = OperationQueue.newSerialQueue("benchmark");
+		queue.setSuspended(true);
+		before = Benchmarks.measureUsedHeap();
+		queue.addOperations(operations);
+		double queuedBytesPerOperation = (double)(Benchmarks.measureUsedHeap() - before) / COUNT;
+		
+		Benchmarks.report("Operation queued", "%,d operations on a suspended queue: %.0f more bytes/operation", COUNT, queuedBytesPerOperation);
+		
+		// Creating the ObserversController up front adds about 70 bytes per operation, and about 200 more once the queue observes it.
+		assertEquals(COUNT, operations.size());
+		assertTrue(bytesPerOperation < 180);
+		assertTrue(queuedBytesPerOperation < 150);
+		
+		queue.cancelAllOperations();
+	}
+	
+	private static List<Operation> newOperations() {
+		List<Operation> retObj = new ArrayList<>(COUNT);
+		for(int i = 0; i < COUNT; i++) {
+			retObj.add(new BlockOperation(() -> {}));
+		}
+		return retObj;
+	}
+}
@@ -0,0 +1,169 @@
+//
+//	The MIT License (MIT)
+//
+//	Copyright © 2017-2024 Jacopo Filié
+//
+//	Permission is hereby granted, free of charge, to any person obtaining a copy
+//	of this software and associated documentation files (the "Software"), to deal
+//	in the Software without restriction, including without limitation the rights
+//	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//	copies of the Software, and to permit persons to whom the Software is
+//	furnished to do so, subject to the following conditions:
+//
+//	The above copyright notice and this permission notice shall be included in all
+//	copies or substantial portions of the Software.
+//
+//	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//	SOFTWARE.
+//
+
+
+package com.jackfelle.jfkit.core.operations;
+
+import androidx.annotation.NonNull;
+
+import com.jackfelle.jfkit.Benchmarks;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertTrue;
+
+public class OperationQueueBenchmark
+{
+	private static final int ROUNDS = 5;
+	private static final long TIMEOUT = 60;
+	
+	@Test public void readyOperationsIgnoreWaitingBacklog() throws InterruptedException {
+		Benchmarks.assumeEnabled();
+		
+		int readyCount = 10000;
+		int[] backlogs = {10000, 100000};
+		double[] nanosPerOperation = new double[backlogs.length];
+		for(int i = 0; i < backlogs.length; i++) {
+			long best = Long.MAX_VALUE;
+			for(int round = 0; round < ROUNDS; round++) {
+				best = Math.min(best, runReadyOperations(backlogs[i], readyCount));
+			}
+			nanosPerOperation[i] = (double)best / readyCount;
+			Benchmarks.report("OperationQueue ready dequeue", "%,d waiting, %,d ready: %.0f ns/operation", backlogs[i], readyCount, nanosPerOperation[i]);
+		}
+		
+		// Scanning the waiting operations on every dequeue would make the larger backlog about ten times slower.
+		assertTrue(nanosPerOperation[1] < nanosPerOperation[0] * 3);
+	}
+	
+	@Test public void completionIgnoresBacklogPosition() throws InterruptedException {
+		Benchmarks.assumeEnabled();
+		
+		int[] backlogs = {10000, 100000};
+		double[] nanosPerOperation = new double[backlogs.length];
+		for(int i = 0; i < backlogs.length; i++) {
+			long best = Long.MAX_VALUE;
+			for(int round = 0; round < ROUNDS; round++) {
+				best = Math.min(best, runCompletionsFromTail(backlogs[i]));
+			}
+			nanosPerOperation[i] = (double)best / backlogs[i];
+			Benchmarks.report("OperationQueue completion", "%,d queued: %.0f ns/operation", backlogs[i], nanosPerOperation[i]);
+		}
+		
+		// The operations finish newest first, so searching the backlog on removal would cost a full scan per completion.
+		assertTrue(nanosPerOperation[1] < nanosPerOperation[0] * 3);
+	}
+	
+	@Test public void workStealingForkThroughput() throws InterruptedException {
+		Benchmarks.assumeEnabled();
+		
+		int depth = 15;
+		int count = (1 << (depth + 1)) - 1;
+		long sharedBest = Long.MAX_VALUE;
+		long stealingBest = Long.MAX_VALUE;
+		for(int round = 0; round < ROUNDS; round++) {
+			sharedBest = Math.min(sharedBest, runForkTree(OperationQueue.newConcurrentQueue("benchmark"), depth));
+			stealingBest = Math.min(stealingBest, runForkTree(OperationQueue.newWorkStealingQueue("benchmark"), depth));
+		}
+		
+		Benchmarks.report("OperationQueue fork tree", "%,d operations on %d cores: shared %.0f ns/operation, work-stealing %.0f ns/operation", count, Runtime.getRuntime().availableProcessors(), (double)sharedBest / count, (double)stealingBest / count);
+	}
+	
+	private static long runForkTree(@NonNull OperationQueue queue, int depth) throws InterruptedException {
+		CountDownLatch latch = new CountDownLatch(1 << depth);
+		long start = System.nanoTime();
+		queue.addOperation(() -> fork(queue, depth, latch));
+		assertTrue(latch.await(TIMEOUT, TimeUnit.SECONDS));
+		long retVal = System.nanoTime() - start;
+		
+		queue.waitUntilAllOperationsAreFinished();
+		return retVal;
+	}
+	
+	private static void fork(@NonNull OperationQueue queue, int depth, @NonNull CountDownLatch latch) {
+		if(depth == 0) {
+			latch.countDown();
+			return;
+		}
+		queue.addOperation(() -> fork(queue, depth - 1, latch));
+		queue.addOperation(() -> fork(queue, depth - 1, latch));
+	}
+	
+	private static long runCompletionsFromTail(int count) throws InterruptedException {
+		OperationQueue queue = OperationQueue.newConcurrentQueue("benchmark");
+		CountDownLatch latch = new CountDownLatch(count);
+		List<Operation> gates = new ArrayList<>(count);
+		List<Operation> operations = new ArrayList<>(count);
+		for(int i = 0; i < count; i++) {
+			Operation gate = new BlockOperation(() -> {});
+			Operation operation = new BlockOperation(latch::countDown);
+			operation.addDependency(gate);
+			gates.add(gate);
+			operations.add(operation);
+		}
+		queue.addOperations(operations);
+		
+		long start = System.nanoTime();
+		for(int i = count - 1; i >= 0; i--) {
+			gates.get(i).start();
+		}
+		assertTrue(latch.await(TIMEOUT, TimeUnit.SECONDS));
+		long retVal = System.nanoTime() - start;
+		
+		queue.waitUntilAllOperationsAreFinished();
+		return retVal;
+	}
+	
+	private static long runReadyOperations(int waitingCount, int readyCount) throws InterruptedException {
+		OperationQueue queue = OperationQueue.newSerialQueue("benchmark");
+		Operation gate = new BlockOperation(() -> {});
+		List<Operation> waiting = new ArrayList<>(waitingCount);
+		for(int i = 0; i < waitingCount; i++) {
+			Operation operation = new BlockOperation(() -> {});
+			operation.addDependency(gate);
+			waiting.add(operation);
+		}
+		queue.addOperations(waiting);
+		
+		CountDownLatch latch = new CountDownLatch(readyCount);
+		List<Operation> ready = new ArrayList<>(readyCount);
+		for(int i = 0; i < readyCount; i++) {
+			ready.add(new BlockOperation(latch::countDown));
+		}
+		
+		long start = System.nanoTime();
+		queue.addOperations(ready);
+		assertTrue(latch.await(TIMEOUT, TimeUnit.SECONDS));
+		long retVal = System.nanoTime() - start;
+		
+		gate.start();
+		queue.waitUntilAllOperationsAreFinished();
+		return retVal;
+	}
+}
@@ -0,0 +1,322 @@
+//
+//	The MIT License (MIT)
+//
+//	Copyright © 2017-2024 Jacopo Filié
+//
+//	Permission is hereby granted, free of charge, to any person obtaining a copy
+//	of this software and associated documentation files (the "Software"), to deal
+//	in the Software without restriction, including without limitation the rights
+//	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//	copies of the Software, and to permit persons to whom the Software is
+//	furnished to do so, subject to the following conditions:
+//
+//	The above copyright notice and this permission notice shall be included in all
+//	copies or substantial portions of the Software.
+//
+//	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//	SOFTWARE.
+//
+
+
+package com.jackfelle.jfkit.core.operations;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class OperationQueueTest
+{
+	private static final long TIMEOUT = 5;
+	
+	@Test public void dependenciesRunBeforeDependents() throws InterruptedException {
+		OperationQueue queue = OperationQueue.newConcurrentQueue("test");
+		List<String> order = Collections.synchronizedList(new ArrayList<>());
+		CountDownLatch latch = new CountDownLatch(3);
+		
+		Operation first = new BlockOperation(() -> {
+			order.add("first");
+			latch.countDown();
+		});
+		Operation second = new BlockOperation(() -> {
+			order.add("second");
+			latch.countDown();
+		});
+		Operation third = new BlockOperation(() -> {
+			order.add("third");
+			latch.countDown();
+		});
+		third.addDependency(second);
+		second.addDependency(first);
+		
+		queue.addOperations(Arrays.asList(third, second, first));
+		
+		assertTrue(latch.await(TIMEOUT, TimeUnit.SECONDS));
+		assertEquals(Arrays.asList("first", "second", "third"), order);
+	}
+	
+	@Test public void removedDependencyDoesNotBlock() throws InterruptedException {
+		OperationQueue queue = OperationQueue.newSerialQueue("test");
+		CountDownLatch latch = new CountDownLatch(1);
+		
+		Operation dependency = new BlockOperation(() -> {});
+		Operation operation = new BlockOperation(latch::countDown);
+		operation.addDependency(dependency);
+		queue.addOperation(operation);
+		operation.removeDependency(dependency);
+		
+		assertTrue(latch.await(TIMEOUT, TimeUnit.SECONDS));
+	}
+	
+	@Test public void canceledOperationFinishesWithoutRunning() throws InterruptedException {
+		OperationQueue queue = OperationQueue.newSerialQueue("test");
+		queue.setSuspended(true);
+		
+		AtomicBoolean executed = new AtomicBoolean(false);
+		CountDownLatch latch = new CountDownLatch(1);
+		Operation operation = new BlockOperation(() -> executed.set(true));
+		operation.setCompletion(latch::countDown);
+		queue.addOperation(operation);
+		operation.cancel();
+		queue.setSuspended(false);
+		
+		assertTrue(latch.await(TIMEOUT, TimeUnit.SECONDS));
+		assertTrue(operation.isCanceled());
+		assertTrue(operation.isFinished());
+		assertFalse(executed.get());
+	}
+	
+	@Test public void asynchronousOperationKeepsSlotUntilFinished() throws InterruptedException {
+		OperationQueue queue = OperationQueue.newSerialQueue("test");
+		AsynchronousOperation asynchronous = new AsynchronousOperation(50);
+		AtomicBoolean finishedFirst = new AtomicBoolean(false);
+		CountDownLatch latch = new CountDownLatch(1);
+		
+		queue.addOperation(asynchronous);
+		queue.addOperation(new BlockOperation(() -> {
+			finishedFirst.set(asynchronous.isFinished());
+			latch.countDown();
+		}));
+		
+		assertTrue(latch.await(TIMEOUT, TimeUnit.SECONDS));
+		assertTrue(finishedFirst.get());
+	}
+	
+	@Test public void asynchronousOperationsDoNotStarveSerialQueue() throws InterruptedException {
+		OperationQueue queue = OperationQueue.newSerialQueue("test");
+		int count = 20;
+		CountDownLatch latch = new CountDownLatch(count);
+		for(int i = 0; i < count; i++) {
+			AsynchronousOperation operation = new AsynchronousOperation(1);
+			operation.setCompletion(latch::countDown);
+			queue.addOperation(operation);
+		}
+		
+		assertTrue(latch.await(TIMEOUT, TimeUnit.SECONDS));
+	}
+	
+	@Test public void rejectedWorkerExecutionDoesNotLoseSlot() throws InterruptedException {
+		AtomicBoolean rejects = new AtomicBoolean(true);
+		Executor executor = runnable -> {
+			if(rejects.get()) {
+				throw new RejectedExecutionException();
+			}
+			new Thread(runnable).start();
+		};
+		OperationQueue queue = OperationQueue.newQueue("test", 1, executor);
+		CountDownLatch latch = new CountDownLatch(2);
+		
+		queue.addOperation(latch::countDown);
+		rejects.set(false);
+		queue.addOperation(latch::countDown);
+		
+		assertTrue(latch.await(TIMEOUT, TimeUnit.SECONDS));
+	}
+	
+	@Test public void failingOperationDoesNotStallQueue() throws InterruptedException {
+		for(int i = 0; i < 50; i++) {
+			OperationQueue queue = OperationQueue.newSerialQueue("test");
+			CountDownLatch started = new CountDownLatch(1);
+			CountDownLatch latch = new CountDownLatch(1);
+			
+			queue.addOperation(() -> {
+				started.countDown();
+				throw new IllegalStateException("Expected failure.");
+			});
+			assertTrue(started.await(TIMEOUT, TimeUnit.SECONDS));
+			queue.addOperation(latch::countDown);
+			
+			assertTrue(latch.await(TIMEOUT, TimeUnit.SECONDS));
+		}
+	}
+	
+	@Test public void workStealingWorkerRunsLocalOperationsNewestFirst() throws InterruptedException {
+		OperationQueue queue = OperationQueue.newWorkStealingQueue("test", 1, null);
+		List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+		CountDownLatch latch = new CountDownLatch(3);
+		
+		// Operations added by a worker land on its own deque, which it takes back from the tail.
+		queue.addOperation(() -> {
+			for(int i = 1; i <= 3; i++) {
+				int index = i;
+				queue.addOperation(() -> {
+					order.add(index);
+					latch.countDown();
+				});
+			}
+		});
+		
+		assertTrue(latch.await(TIMEOUT, TimeUnit.SECONDS));
+		assertEquals(Arrays.asList(3, 2, 1), order);
+	}
+	
+	@Test public void workStealingThiefTakesOldestOperationsFirst() throws InterruptedException {
+		OperationQueue queue = OperationQueue.newWorkStealingQueue("test", 2, null);
+		List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+		CountDownLatch latch = new CountDownLatch(3);
+		
+		// The worker that made the operations ready stays busy, so another worker has to steal them from the head of its deque.
+		queue.addOperation(() -> {
+			for(int i = 1; i <= 3; i++) {
+				int index = i;
+				queue.addOperation(() -> {
+					order.add(index);
+					latch.countDown();
+				});
+			}
+			try {
+				latch.await(TIMEOUT, TimeUnit.SECONDS);
+			} catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		
+		assertTrue(latch.await(TIMEOUT, TimeUnit.SECONDS));
+		assertEquals(Arrays.asList(1, 2, 3), order);
+	}
+	
+	@Test public void workStealingHonoursPrioritiesAndDependencies() throws InterruptedException {
+		OperationQueue queue = OperationQueue.newWorkStealingQueue("test", 1, null);
+		List<String> order = Collections.synchronizedList(new ArrayList<>());
+		CountDownLatch latch = new CountDownLatch(4);
+		
+		queue.addOperation(() -> {
+			Operation high = new BlockOperation(() -> {
+				order.add("high");
+				latch.countDown();
+			});
+			high.setQueuePriority(Operation.QueuePriority.VERY_HIGH);
+			Operation dependency = new BlockOperation(() -> {
+				order.add("dependency");
+				latch.countDown();
+			});
+			Operation dependent = new BlockOperation(() -> {
+				order.add("dependent");
+				latch.countDown();
+			});
+			dependent.addDependency(dependency);
+			Operation last = new BlockOperation(() -> {
+				order.add("last");
+				latch.countDown();
+			});
+			
+			// Newest first would pick the last operation, but priorities win and a dependent never overtakes its dependency.
+			queue.addOperations(Arrays.asList(high, dependent, dependency, last));
+		});
+		
+		assertTrue(latch.await(TIMEOUT, TimeUnit.SECONDS));
+		assertEquals(Arrays.asList("high", "last", "dependency", "dependent"), order);
+	}
+	
+	@Test public void virtualThreadQueueRunsOnVirtualThreads() throws InterruptedException, ReflectiveOperationException {
+		Assume.assumeTrue("The runtime doesn't provide virtual threads.", OperationQueue.areVirtualThreadsSupported());
+		
+		// Blocking operations park their virtual thread, so a thousand of them can wait at once without a platform thread each.
+		int count = 1000;
+		OperationQueue queue = OperationQueue.newVirtualThreadQueue("test", count);
+		Method isVirtual = Thread.class.getMethod("isVirtual");
+		CountDownLatch started = new CountDownLatch(count);
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch finished = new CountDownLatch(count);
+		AtomicInteger platformThreadCount = new AtomicInteger(0);
+		for(int i = 0; i < count; i++) {
+			queue.addOperation(() -> {
+				try {
+					if(!(Boolean)isVirtual.invoke(Thread.currentThread())) {
+						platformThreadCount.incrementAndGet();
+					}
+					started.countDown();
+					release.await();
+				} catch(InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} catch(ReflectiveOperationException e) {
+					throw new IllegalStateException(e);
+				}
+				finished.countDown();
+			});
+		}
+		
+		assertTrue(started.await(TIMEOUT, TimeUnit.SECONDS));
+		release.countDown();
+		assertTrue(finished.await(TIMEOUT, TimeUnit.SECONDS));
+		assertEquals(0, platformThreadCount.get());
+	}
+	
+	@Test public void virtualThreadQueueFallsBackToSharedPool() throws InterruptedException {
+		Assume.assumeFalse("The runtime provides virtual threads.", OperationQueue.areVirtualThreadsSupported());
+		
+		assertSame(OperationQueue.getSharedWorkerPool(), OperationQueue.getVirtualThreadWorkerPool());
+		
+		OperationQueue queue = OperationQueue.newVirtualThreadQueue("test", 0);
+		int count = 20;
+		CountDownLatch latch = new CountDownLatch(count);
+		for(int i = 0; i < count; i++) {
+			queue.addOperation(latch::countDown);
+		}
+		assertTrue(latch.await(TIMEOUT, TimeUnit.SECONDS));
+	}
+	
+	private static class AsynchronousOperation extends Operation
+	{
+		private final long delay;
+		
+		AsynchronousOperation(long delay) {
+			this.delay = delay;
+		}
+		
+		@Override public boolean isAsynchronous() {
+			return true;
+		}
+		
+		@Override protected void main() {
+			new Thread(() -> {
+				try {
+					Thread.sleep(this.delay);
+				} catch(InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				this.finish();
+			}).start();
+		}
+	}
+}
@@ -0,0 +1,126 @@
+//
+//	The MIT License (MIT)
+//
+//	Copyright © 2017-2024 Jacopo Filié
+//
+//	Permission is hereby granted, free of charge, to any person obtaining a copy
+//	of this software and associated documentation files (the "Software"), to deal
+//	in the Software without restriction, including without limitation the rights
+//	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//	copies of the Software, and to permit persons to whom the Software is
+//	furnished to do so, subject to the following conditions:
+//
+//	The above copyright notice and this permission notice shall be included in all
+//	copies or substantial portions of the Software.
+//
+//	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//	SOFTWARE.
+//
+
+
+package com.jackfelle.jfkit.core.operations;
+
+import androidx.annotation.NonNull;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class OperationTest
+{
+	@Test public void secondObserverUpgradesInlineSlot() {
+		Operation operation = new BlockOperation(() -> {});
+		List<String> events = new ArrayList<>();
+		RecordingObserver first = new RecordingObserver("first", events);
+		RecordingObserver second = new RecordingObserver("second", events);
+		
+		operation.addObserver(first);
+		operation.addObserver(second);
+		
+		// The observer that sat in the inline slot must be carried over into the controller.
+		assertEquals(2, operation.getObservers().getCount());
+		operation.cancel();
+		Collections.sort(events);
+		assertEquals(Arrays.asList("first:canceled", "second:canceled"), events);
+		
+		operation.removeObserver(first);
+		operation.removeObserver(second);
+	}
+	
+	@Test public void inlineObserverIsNotifiedOnce() {
+		Operation operation = new BlockOperation(() -> {});
+		List<String> events = new ArrayList<>();
+		RecordingObserver observer = new RecordingObserver("observer", events);
+		
+		operation.addObserver(observer);
+		operation.addObserver(observer);
+		operation.cancel();
+		
+		assertEquals(Collections.singletonList("observer:canceled"), events);
+		operation.removeObserver(observer);
+	}
+	
+	@Test public void removedInlineObserverIsNotNotified() {
+		Operation operation = new BlockOperation(() -> {});
+		List<String> events = new ArrayList<>();
+		RecordingObserver observer = new RecordingObserver("observer", events);
+		
+		operation.addObserver(observer);
+		operation.removeObserver(observer);
+		operation.cancel();
+		
+		assertEquals(Collections.emptyList(), events);
+	}
+	
+	@Test public void removedObserverIsNotNotifiedAfterUpgrade() {
+		Operation operation = new BlockOperation(() -> {});
+		List<String> events = new ArrayList<>();
+		RecordingObserver first = new RecordingObserver("first", events);
+		RecordingObserver second = new RecordingObserver("second", events);
+		
+		operation.addObserver(first);
+		operation.addObserver(second);
+		operation.removeObserver(first);
+		operation.cancel();
+		
+		assertEquals(Collections.singletonList("second:canceled"), events);
+		operation.removeObserver(second);
+	}
+	
+	private static class RecordingObserver implements Operation.Observer
+	{
+		private final @NonNull List<String> events;
+		private final @NonNull String name;
+		
+		RecordingObserver(@NonNull String name, @NonNull List<String> events) {
+			this.events = events;
+			this.name = name;
+		}
+		
+		@Override public void operationIsCanceled(@NonNull Operation sender) {
+			this.events.add(this.name + ":canceled");
+		}
+		
+		@Override public void operationIsExecuting(@NonNull Operation sender) {
+			this.events.add(this.name + ":executing");
+		}
+		
+		@Override public void operationIsFinished(@NonNull Operation sender) {
+			this.events.add(this.name + ":finished");
+		}
+		
+		@Override public void operationIsReady(@NonNull Operation sender) {
+			this.events.add(this.name + ":ready");
+		}
+	}
+}
@@ -0,0 +1,199 @@
+//
+//	The MIT License (MIT)
+//
+//	Copyright © 2017-2024 Jacopo Filié
+//
+//	Permission is hereby granted, free of charge, to any person obtaining a copy
+//	of this software and associated documentation files (the "Software"), to deal
+//	in the Software without restriction, including without limitation the rights
+//	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//	copies of the Software, and to permit persons to whom the Software is
+//	furnished to do so, subject to the following conditions:
+//
+//	The above copyright notice and this permission notice shall be included in all
+//	copies or substantial portions of the Software.
+//
+//	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//	SOFTWARE.
+//
+
+
+package com.jackfelle.jfkit.core.operations;
+
+import org.junit.Test;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ResultOperationTest
+{
+	private static final long TIMEOUT = 5;
+	
+	@Test public void getReturnsResult() throws Exception {
+		OperationQueue queue = OperationQueue.newConcurrentQueue("test");
+		ResultOperation<Integer> operation = new ResultOperation<>(() -> 42);
+		queue.addOperation(operation);
+		
+		assertEquals(Integer.valueOf(42), operation.get(TIMEOUT, TimeUnit.SECONDS));
+		assertTrue(operation.isDone());
+		assertNull(operation.getError());
+	}
+	
+	@Test public void getWrapsError() throws Exception {
+		OperationQueue queue = OperationQueue.newConcurrentQueue("test");
+		IllegalStateException error = new IllegalStateException();
+		ResultOperation<Integer> operation = new ResultOperation<>(() -> {
+			throw error;
+		});
+		queue.addOperation(operation);
+		
+		try {
+			operation.get(TIMEOUT, TimeUnit.SECONDS);
+			fail();
+		} catch(ExecutionException e) {
+			assertSame(error, e.getCause());
+		}
+	}
+	
+	@Test public void thenApplyTransformsResult() throws Exception {
+		OperationQueue queue = OperationQueue.newConcurrentQueue("test");
+		ResultOperation<Integer> operation = new ResultOperation<>(() -> 20);
+		ResultOperation<String> transformed = operation.thenApply(queue, result -> "value-" + (result + 1));
+		queue.addOperation(operation);
+		
+		assertEquals("value-21", transformed.get(TIMEOUT, TimeUnit.SECONDS));
+	}
+	
+	@Test public void errorsSkipTransformsAndReachCompletion() throws Exception {
+		OperationQueue queue = OperationQueue.newConcurrentQueue("test");
+		IllegalArgumentException error = new IllegalArgumentException();
+		ResultOperation<Integer> operation = new ResultOperation<>(() -> {
+			throw error;
+		});
+		ResultOperation<Integer> transformed = operation.thenApply(queue, result -> {
+			fail();
+			return result;
+		});
+		
+		CountDownLatch latch = new CountDownLatch(1);
+		AtomicReference<Throwable> completionError = new AtomicReference<>();
+		AtomicReference<Boolean> completionSucceeded = new AtomicReference<>();
+		transformed.whenComplete(queue, (succeeded, result, e) -> {
+			completionSucceeded.set(succeeded);
+			completionError.set(e);
+			latch.countDown();
+		});
+		queue.addOperation(operation);
+		
+		assertTrue(latch.await(TIMEOUT, TimeUnit.SECONDS));
+		assertFalse(completionSucceeded.get());
+		assertSame(error, completionError.get());
+	}
+	
+	@Test public void thenComposeCompletesOnSerialQueue() throws Exception {
+		OperationQueue queue = OperationQueue.newSerialQueue("test");
+		ResultOperation<Integer> operation = new ResultOperation<>(() -> 2);
+		ResultOperation<Integer> composed = operation.thenCompose(queue, result -> new ResultOperation<>(() -> result * 10));
+		ResultOperation<Integer> twiceComposed = composed.thenCompose(queue, result -> new ResultOperation<>(() -> result + 1));
+		queue.addOperation(operation);
+		
+		assertEquals(Integer.valueOf(20), composed.get(TIMEOUT, TimeUnit.SECONDS));
+		assertEquals(Integer.valueOf(21), twiceComposed.get(TIMEOUT, TimeUnit.SECONDS));
+	}
+	
+	@Test public void thenComposePropagatesInnerError() throws Exception {
+		OperationQueue queue = OperationQueue.newSerialQueue("test");
+		IllegalStateException error = new IllegalStateException();
+		ResultOperation<Integer> operation = new ResultOperation<>(() -> 2);
+		ResultOperation<Integer> composed = operation.thenCompose(queue, result -> new ResultOperation<>(() -> {
+			throw error;
+		}));
+		queue.addOperation(operation);
+		
+		try {
+			composed.get(TIMEOUT, TimeUnit.SECONDS);
+			fail();
+		} catch(ExecutionException e) {
+			assertSame(error, e.getCause());
+		}
+	}
+	
+	@Test public void interruptedGetThrows() throws Exception {
+		ResultOperation<Integer> operation = new ResultOperation<>(() -> 42);
+		AtomicReference<Throwable> thrown = new AtomicReference<>();
+		Thread thread = new Thread(() -> {
+			try {
+				operation.get();
+			} catch(Throwable e) {
+				thrown.set(e);
+			}
+		});
+		thread.start();
+		thread.interrupt();
+		thread.join(TimeUnit.SECONDS.toMillis(TIMEOUT));
+		
+		assertTrue(thrown.get() instanceof InterruptedException);
+		assertFalse(operation.isDone());
+	}
+	
+	@Test public void cancelFollowsFutureContract() throws Exception {
+		OperationQueue queue = OperationQueue.newSerialQueue("test");
+		queue.setSuspended(true);
+		ResultOperation<Integer> operation = new ResultOperation<>(() -> 42);
+		queue.addOperation(operation);
+		
+		assertTrue(operation.cancel(false));
+		assertFalse(operation.cancel(false));
+		assertTrue(operation.isDone());
+		assertTrue(operation.isCancelled());
+		try {
+			operation.get();
+			fail();
+		} catch(CancellationException e) {
+			// Expected.
+		}
+	}
+	
+	@Test public void cancelWakesWaitingGet() throws Exception {
+		ResultOperation<Integer> operation = new ResultOperation<>(() -> 42);
+		AtomicReference<Throwable> thrown = new AtomicReference<>();
+		Thread thread = new Thread(() -> {
+			try {
+				operation.get();
+			} catch(Throwable e) {
+				thrown.set(e);
+			}
+		});
+		thread.start();
+		Thread.sleep(50);
+		operation.cancel(true);
+		thread.join(TimeUnit.SECONDS.toMillis(TIMEOUT));
+		
+		assertTrue(thrown.get() instanceof CancellationException);
+	}
+	
+	@Test public void cancelAfterFinishFails() throws Exception {
+		OperationQueue queue = OperationQueue.newSerialQueue("test");
+		ResultOperation<Integer> operation = new ResultOperation<>(() -> 42);
+		queue.addOperation(operation);
+		
+		assertEquals(Integer.valueOf(42), operation.get(TIMEOUT, TimeUnit.SECONDS));
+		assertFalse(operation.cancel(false));
+		assertFalse(operation.isCancelled());
+	}
+}
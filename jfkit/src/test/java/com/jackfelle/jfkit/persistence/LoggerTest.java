@@ -0,0 +1,471 @@
+//
+//	The MIT License (MIT)
+//
+//	Copyright © 2017-2024 Jacopo Filié
+//
+//	Permission is hereby granted, free of charge, to any person obtaining a copy
+//	of this software and associated documentation files (the "Software"), to deal
+//	in the Software without restriction, including without limitation the rights
+//	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//	copies of the Software, and to permit persons to whom the Software is
+//	furnished to do so, subject to the following conditions:
+//
+//	The above copyright notice and this permission notice shall be included in all
+//	copies or substantial portions of the Software.
+//
+//	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//	SOFTWARE.
+//
+
+
+package com.jackfelle.jfkit.persistence;
+
+import android.content.Context;
+import android.content.ContextWrapper;
+
+import com.jackfelle.jfkit.data.Strings;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.text.DateFormat;
+import java.text.FieldPosition;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class LoggerTest
+{
+	private static final long TIMEOUT = 5;
+	private static final String[] TIME_ZONES = new String[] {"UTC", "Europe/Rome", "America/New_York", "America/Santiago", "Australia/Lord_Howe", "Asia/Kolkata"};
+	
+	@Rule public final TemporaryFolder folder = new TemporaryFolder();
+	
+	private Locale defaultLocale;
+	private TimeZone defaultTimeZone;
+	
+	@Before public void setUp() {
+		this.defaultLocale = Locale.getDefault();
+		this.defaultTimeZone = TimeZone.getDefault();
+	}
+	
+	@After public void tearDown() {
+		Locale.setDefault(this.defaultLocale);
+		TimeZone.setDefault(this.defaultTimeZone);
+	}
+	
+	@Test public void fileWriterBuffersUntilFlushed() throws IOException {
+		Logger logger = this.newFileLogger(Logger.Rotation.NONE);
+		File file = new File(new File(this.folder.getRoot(), "Logs"), "Test.log");
+		Date now = new Date();
+		
+		// Messages below errors stay in the writer's buffer until a flush.
+		logger.logToFile("test", "first", Logger.Severity.DEBUG, now);
+		assertEquals(Collections.emptyList(), Files.readAllLines(file.toPath()));
+		logger.flush();
+		assertEquals(Collections.singletonList("first"), Files.readAllLines(file.toPath()));
+		
+		logger.logToFile("test", "second", Logger.Severity.ERROR, now);
+		assertEquals(Arrays.asList("first", "second"), Files.readAllLines(file.toPath()));
+		
+		// Closing flushes, and the next message opens the same file again.
+		logger.logToFile("test", "third", Logger.Severity.INFO, now);
+		logger.close();
+		assertEquals(Arrays.asList("first", "second", "third"), Files.readAllLines(file.toPath()));
+		logger.logToFile("test", "fourth", Logger.Severity.ERROR, now);
+		assertEquals(Arrays.asList("first", "second", "third", "fourth"), Files.readAllLines(file.toPath()));
+		logger.close();
+	}
+	
+	@Test public void fileWriterRotatesWithPeriod() throws IOException {
+		Logger logger = this.newFileLogger(Logger.Rotation.HOUR);
+		File directory = new File(this.folder.getRoot(), "Logs");
+		long now = System.currentTimeMillis();
+		long nextHour = Logger.rotationPeriodEnd(now, Logger.Rotation.HOUR);
+		
+		logger.logToFile("test", "current", Logger.Severity.INFO, new Date(now));
+		logger.logToFile("test", "next", Logger.Severity.INFO, new Date(nextHour));
+		logger.close();
+		
+		// The buffered line of the first period reaches its own file when the writer moves on to the next one.
+		assertEquals(Collections.singletonList("current"), Files.readAllLines(new File(directory, "Test-" + hourOfDay(now) + ".log").toPath()));
+		assertEquals(Collections.singletonList("next"), Files.readAllLines(new File(directory, "Test-" + hourOfDay(nextHour) + ".log").toPath()));
+	}
+	
+	@Test public void rotationPeriodsMatchFileSuffixes() {
+		// Every 7 minutes over a year, so that each DST change of the tested time zones is crossed. Locales differ in the first day of the week.
+		for(String timeZone : TIME_ZONES) {
+			TimeZone.setDefault(TimeZone.getTimeZone(timeZone));
+			for(Locale locale : new Locale[] {Locale.US, Locale.ITALY}) {
+				Locale.setDefault(locale);
+				for(Logger.Rotation rotation : Logger.Rotation.values()) {
+					for(long time = 1672531200000L; time < 1704067200000L; time += 419999L) {
+						this.assertRotationPeriod(time, rotation);
+					}
+				}
+			}
+		}
+	}
+	
+	@Test public void timestampRendererMatchesDateFormat() {
+		String[] patterns = new String[] {"yyyy/MM/dd", "HH:mm:ss.SSSZ", "HH:mm:ss", "SSS", "h a", "yyyy-MM-dd HH:mm:ss.SSS", "S", "mm", "'at' HH:mm:ss.SSS 'ms'", "EEE d MMM yyyy", "HH:mm:ss z", "SS.SSS", "HH:mm ''ss''"};
+		Random random = new Random(1);
+		for(String pattern : patterns) {
+			for(String timeZone : TIME_ZONES) {
+				DateFormat format = new SimpleDateFormat(pattern, Locale.US);
+				format.setTimeZone(TimeZone.getTimeZone(timeZone));
+				DateFormat expectedFormat = (DateFormat)format.clone();
+				Logger.TimestampRenderer renderer = new Logger.TimestampRenderer(format);
+				
+				long time = 1700000000000L;
+				for(int i = 0; i < 20000; i++) {
+					time += ((i % 3 == 0) ? random.nextInt(5000) : random.nextInt(7));
+					if(i % 1000 == 0) {
+						time += random.nextInt(100000000);
+					}
+					
+					StringBuilder builder = new StringBuilder();
+					renderer.append(builder, time);
+					assertEquals(pattern + " " + timeZone + " " + time, expectedFormat.format(new Date(time)), builder.toString());
+				}
+			}
+		}
+	}
+	
+	@Test public void timestampRendererFormatsOncePerWindow() {
+		long time = 1700000000000L;
+		
+		// Milliseconds are appended to cached strings: each second only formats its prefix and suffix.
+		CountingDateFormat format = new CountingDateFormat("HH:mm:ss.SSS");
+		Logger.TimestampRenderer renderer = new Logger.TimestampRenderer(format);
+		CountingDateFormat.COUNT.set(0);
+		for(int i = 0; i < 10000; i++) {
+			renderer.append(new StringBuilder(), time + i);
+		}
+		assertEquals(20, CountingDateFormat.COUNT.get());
+		
+		// Date formats are only formatted once per day.
+		renderer = new Logger.TimestampRenderer(new CountingDateFormat("yyyy/MM/dd"));
+		CountingDateFormat.COUNT.set(0);
+		for(int i = 0; i < 10000; i++) {
+			renderer.append(new StringBuilder(), time + i * 1000L);
+		}
+		assertTrue(CountingDateFormat.COUNT.get() <= 2);
+		
+		// Layouts that can't be cached are formatted once per line, without probing.
+		renderer = new Logger.TimestampRenderer(new CountingDateFormat("SS"));
+		CountingDateFormat.COUNT.set(0);
+		for(int i = 0; i < 1000; i++) {
+			renderer.append(new StringBuilder(), time + i);
+		}
+		assertEquals(1000, CountingDateFormat.COUNT.get());
+	}
+	
+	@Test public void dateFormatChangesNeedSetter() throws InterruptedException {
+		// Delegates are notified on the background queue, so the messages are keyed by their first word.
+		Map<String, String> messages = new ConcurrentHashMap<>();
+		Map<String, Date> dates = new ConcurrentHashMap<>();
+		CountDownLatch latch = new CountDownLatch(3);
+		Logger.Delegate delegate = (sender, message, date) -> {
+			int index = message.indexOf(' ');
+			messages.put(message.substring(0, index), message.substring(index + 1));
+			dates.put(message.substring(0, index), date);
+			latch.countDown();
+		};
+		Logger logger = new Logger();
+		logger.setFormat(Logger.FORMAT_MESSAGE + " " + Logger.FORMAT_DATE);
+		logger.addDelegate(delegate);
+		
+		DateFormat utcFormat = new SimpleDateFormat("yyyy/MM/dd HH:mm", Locale.US);
+		utcFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+		DateFormat kolkataFormat = (DateFormat)utcFormat.clone();
+		kolkataFormat.setTimeZone(TimeZone.getTimeZone("Asia/Kolkata"));
+		
+		// The getter returns the format that was set, but changes made in place only show up once it is set again.
+		DateFormat format = (DateFormat)utcFormat.clone();
+		logger.setDateFormat(format);
+		assertSame(format, logger.getDateFormat());
+		format.setTimeZone(TimeZone.getTimeZone("Asia/Kolkata"));
+		logger.log("test", "first", EnumSet.of(Logger.Output.DELEGATES), Logger.Severity.ERROR);
+		logger.getDateFormat().setTimeZone(TimeZone.getTimeZone("Asia/Kolkata"));
+		logger.log("test", "second", EnumSet.of(Logger.Output.DELEGATES), Logger.Severity.ERROR);
+		
+		DateFormat changedFormat = logger.getDateFormat();
+		changedFormat.setTimeZone(TimeZone.getTimeZone("Asia/Kolkata"));
+		logger.setDateFormat(changedFormat);
+		logger.log("test", "third", EnumSet.of(Logger.Output.DELEGATES), Logger.Severity.ERROR);
+		
+		assertTrue(latch.await(TIMEOUT, TimeUnit.SECONDS));
+		assertEquals(utcFormat.format(dates.get("first")), messages.get("first"));
+		assertEquals(utcFormat.format(dates.get("second")), messages.get("second"));
+		assertEquals(kolkataFormat.format(dates.get("third")), messages.get("third"));
+		
+		// Also keeps the weakly held delegate alive until here.
+		logger.removeDelegate(delegate);
+	}
+	
+	@Test public void compiledFormatMatchesKeyReplacement() throws InterruptedException {
+		String allFields = Logger.FORMAT_DATE + " " + Logger.FORMAT_TIME + " [" + Logger.FORMAT_PROCESS_ID + ":" + Logger.FORMAT_THREAD_ID + "] <" + Logger.FORMAT_SEVERITY + "> " + Logger.FORMAT_MESSAGE;
+		String[] formats = new String[] {
+			allFields,
+			Logger.FORMAT_MESSAGE,
+			Logger.FORMAT_MESSAGE + Logger.FORMAT_SEVERITY + Logger.FORMAT_MESSAGE,
+			"100% " + Logger.FORMAT_MESSAGE + " %",
+			"%%" + Logger.FORMAT_MESSAGE + "%1$ %7$@ %2$",
+			"No fields at all",
+			"%",
+			"",
+		};
+		
+		for(String format : formats) {
+			Logger logger = new Logger();
+			logger.setFormat(format);
+			AtomicReference<String> logMessage = new AtomicReference<>();
+			AtomicReference<Date> logDate = new AtomicReference<>();
+			CountDownLatch latch = new CountDownLatch(1);
+			Logger.Delegate delegate = (sender, message, date) -> {
+				logMessage.set(message);
+				logDate.set(date);
+				latch.countDown();
+			};
+			logger.addDelegate(delegate);
+			logger.log("test", "Message with %2$@ inside", EnumSet.of(Logger.Output.DELEGATES), Logger.Severity.WARNING);
+			assertTrue(latch.await(TIMEOUT, TimeUnit.SECONDS));
+			
+			// Only the fields found in the format were passed to the old formatter.
+			Date date = logDate.get();
+			Map<String, String> values = new HashMap<>();
+			Map<String, String> allValues = new HashMap<>();
+			allValues.put(Logger.FORMAT_DATE, logger.getDateFormat().format(date));
+			allValues.put(Logger.FORMAT_MESSAGE, "Message with %2$@ inside");
+			allValues.put(Logger.FORMAT_PROCESS_ID, Integer.toString(android.os.Process.myPid()));
+			allValues.put(Logger.FORMAT_SEVERITY, Logger.Severity.stringFromSeverity(Logger.Severity.WARNING));
+			allValues.put(Logger.FORMAT_THREAD_ID, Integer.toString(android.os.Process.myTid()));
+			allValues.put(Logger.FORMAT_TIME, logger.getTimeFormat().format(date));
+			for(Map.Entry<String, String> entry : allValues.entrySet()) {
+				if(format.contains(entry.getKey())) {
+					values.put(entry.getKey(), entry.getValue());
+				}
+			}
+			assertEquals(format, Strings.newStringByReplacingKeysInFormat(format, values), logMessage.get());
+			
+			logger.removeDelegate(delegate);
+		}
+	}
+	
+	@Test public void eventBufferBlocksWhenFull() throws InterruptedException {
+		StalledConsumer consumer = new StalledConsumer();
+		Logger.EventBuffer buffer = consumer.newFullBuffer(Logger.OverflowPolicy.BLOCK, Logger.Severity.INFO, Logger.Severity.INFO, Logger.Severity.INFO);
+		
+		CountDownLatch published = new CountDownLatch(1);
+		Thread producer = new Thread(() -> {
+			LoggerTest.publish(buffer, "4", Logger.Severity.INFO);
+			published.countDown();
+		});
+		producer.start();
+		assertFalse(published.await(200, TimeUnit.MILLISECONDS));
+		
+		consumer.release();
+		assertTrue(published.await(TIMEOUT, TimeUnit.SECONDS));
+		buffer.stop();
+		
+		assertEquals(Arrays.asList("0", "1", "2", "3", "4"), consumer.getMessages());
+		assertEquals(0, buffer.getDroppedCount());
+	}
+	
+	@Test public void eventBufferDropsDebugEventsFirst() throws InterruptedException {
+		StalledConsumer consumer = new StalledConsumer();
+		Logger.EventBuffer buffer = consumer.newFullBuffer(Logger.OverflowPolicy.DROP_DEBUG_FIRST, Logger.Severity.INFO, Logger.Severity.DEBUG, Logger.Severity.INFO);
+		
+		// The queued debug event makes room for the new one, then a new debug event is dropped itself.
+		assertTrue(LoggerTest.publish(buffer, "4", Logger.Severity.INFO));
+		assertTrue(LoggerTest.publish(buffer, "5", Logger.Severity.DEBUG));
+		assertEquals(2, buffer.getDroppedCount());
+		
+		consumer.release();
+		buffer.stop();
+		
+		assertEquals(Arrays.asList("0", "1", "3", "4"), consumer.getMessages());
+	}
+	
+	@Test public void eventBufferDropsOldestEvents() throws InterruptedException {
+		StalledConsumer consumer = new StalledConsumer();
+		Logger.EventBuffer buffer = consumer.newFullBuffer(Logger.OverflowPolicy.DROP_OLDEST, Logger.Severity.INFO, Logger.Severity.DEBUG, Logger.Severity.INFO);
+		
+		assertTrue(LoggerTest.publish(buffer, "4", Logger.Severity.INFO));
+		assertTrue(LoggerTest.publish(buffer, "5", Logger.Severity.DEBUG));
+		assertEquals(2, buffer.getDroppedCount());
+		
+		consumer.release();
+		buffer.stop();
+		
+		assertEquals(Arrays.asList("0", "3", "4", "5"), consumer.getMessages());
+	}
+	
+	@Test public void stoppedEventBufferRejectsEvents() throws InterruptedException {
+		StalledConsumer consumer = new StalledConsumer();
+		Logger.EventBuffer buffer = consumer.newFullBuffer(Logger.OverflowPolicy.DROP_OLDEST, Logger.Severity.INFO, Logger.Severity.INFO, Logger.Severity.INFO);
+		consumer.release();
+		buffer.stop();
+		
+		// Pending events are consumed before stop() returns, later ones are left to the caller.
+		assertEquals(Arrays.asList("0", "1", "2", "3"), consumer.getMessages());
+		assertFalse(LoggerTest.publish(buffer, "4", Logger.Severity.INFO));
+	}
+	
+	private void assertRotationPeriod(long time, Logger.Rotation rotation) {
+		long start = Logger.rotationPeriodStart(time, rotation);
+		long end = Logger.rotationPeriodEnd(time, rotation);
+		String message = TimeZone.getDefault().getID() + " " + rotation + " " + time;
+		
+		// The period may be shorter than the one of the file, but it can't overlap another file.
+		assertTrue(message, (start <= time) && (time < end));
+		String key = LoggerTest.fileKey(time, rotation);
+		assertEquals(message, key, LoggerTest.fileKey(start, rotation));
+		assertEquals(message, key, LoggerTest.fileKey(end - 1, rotation));
+	}
+	
+	private static String fileKey(long time, Logger.Rotation rotation) {
+		// Same fields that Logger compares to decide whether an existing file is still valid.
+		Calendar calendar = Calendar.getInstance();
+		calendar.setTimeInMillis(time);
+		StringBuilder retObj = new StringBuilder();
+		retObj.append(calendar.get(Calendar.ERA)).append('/').append(calendar.get(Calendar.YEAR));
+		switch(rotation) {
+			case HOUR:
+				retObj.append('h').append(calendar.get(Calendar.HOUR_OF_DAY));
+			case DAY:
+				retObj.append('d').append(calendar.get(Calendar.DAY_OF_MONTH));
+			case WEEK:
+				retObj.append('w').append(calendar.get(Calendar.WEEK_OF_MONTH));
+			case MONTH:
+				retObj.append('m').append(calendar.get(Calendar.MONTH));
+			default:
+				break;
+		}
+		return retObj.toString();
+	}
+	
+	private static boolean publish(Logger.EventBuffer buffer, String message, Logger.Severity severity) {
+		return buffer.publish("test", message, severity, System.currentTimeMillis(), 0, true, false);
+	}
+	
+	private static class CountingDateFormat extends SimpleDateFormat
+	{
+		// Shared with the copies made by the renderer.
+		static final AtomicInteger COUNT = new AtomicInteger(0);
+		
+		CountingDateFormat(String pattern) {
+			super(pattern, Locale.US);
+		}
+		
+		@Override public StringBuffer format(Date date, StringBuffer toAppendTo, FieldPosition pos) {
+			COUNT.incrementAndGet();
+			return super.format(date, toAppendTo, pos);
+		}
+	}
+	
+	private static class StalledConsumer
+	{
+		private final CountDownLatch consuming = new CountDownLatch(1);
+		private final List<String> messages = Collections.synchronizedList(new ArrayList<>());
+		private final CountDownLatch released = new CountDownLatch(1);
+		
+		List<String> getMessages() {
+			synchronized(this.messages) {
+				return new ArrayList<>(this.messages);
+			}
+		}
+		
+		Logger.EventBuffer newFullBuffer(Logger.OverflowPolicy overflowPolicy, Logger.Severity... severities) throws InterruptedException {
+			// The consumer takes the first event and stalls on it, then the buffer is filled up behind it.
+			Logger.EventBuffer retObj = new Logger.EventBuffer(this::consume, severities.length, overflowPolicy);
+			assertTrue(LoggerTest.publish(retObj, "0", Logger.Severity.INFO));
+			assertTrue(this.consuming.await(TIMEOUT, TimeUnit.SECONDS));
+			for(int i = 0; i < severities.length; i++) {
+				assertTrue(LoggerTest.publish(retObj, String.valueOf(i + 1), severities[i]));
+			}
+			return retObj;
+		}
+		
+		void release() {
+			this.released.countDown();
+		}
+		
+		private void consume(Logger.Event event) {
+			this.consuming.countDown();
+			try {
+				assertTrue(this.released.await(TIMEOUT, TimeUnit.SECONDS));
+			} catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			this.messages.add(event.message);
+		}
+	}
+	
+	private Logger newFileLogger(Logger.Rotation rotation) {
+		Logger retObj = new Logger();
+		retObj.setContext(new DirectoryContext(this.folder.getRoot()));
+		retObj.setFileName("Test.log");
+		retObj.setRotation(rotation);
+		return retObj;
+	}
+	
+	private static int hourOfDay(long time) {
+		Calendar calendar = Calendar.getInstance();
+		calendar.setTimeInMillis(time);
+		return calendar.get(Calendar.HOUR_OF_DAY);
+	}
+	
+	private static final class DirectoryContext extends ContextWrapper
+	{
+		private final File directory;
+		
+		DirectoryContext(File directory) {
+			super(null);
+			
+			this.directory = directory;
+		}
+		
+		@Override public Context getApplicationContext() {
+			return this;
+		}
+		
+		@Override public File getDir(String name, int mode) {
+			File retObj = new File(this.directory, name);
+			retObj.mkdirs();
+			return retObj;
+		}
+	}
+}
@@ -0,0 +1,89 @@
+//
+//	The MIT License (MIT)
+//
+//	Copyright © 2017-2024 Jacopo Filié
+//
+//	Permission is hereby granted, free of charge, to any person obtaining a copy
+//	of this software and associated documentation files (the "Software"), to deal
+//	in the Software without restriction, including without limitation the rights
+//	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//	copies of the Software, and to permit persons to whom the Software is
+//	furnished to do so, subject to the following conditions:
+//
+//	The above copyright notice and this permission notice shall be included in all
+//	copies or substantial portions of the Software.
+//
+//	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//	SOFTWARE.
+//
+
+package com.jackfelle.jfkit.utilities;
+
+import com.jackfelle.jfkit.core.operations.BlockOperation;
+import com.jackfelle.jfkit.core.operations.OperationQueue;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AsynchronousLazyTest
+{
+	private static final long TIMEOUT = 5;
+	
+	@Test public void getAfterPrefetchOnSameSerialQueueDoesNotWait() throws InterruptedException {
+		OperationQueue queue = OperationQueue.newSerialQueue("test");
+		AtomicInteger builds = new AtomicInteger(0);
+		AsynchronousLazy<String> lazy = AsynchronousLazy.newInstance(() -> "value" + builds.incrementAndGet());
+		AtomicReference<String> result = new AtomicReference<>();
+		CountDownLatch latch = new CountDownLatch(1);
+		
+		queue.addOperation(new BlockOperation(() -> {
+			lazy.prefetch(queue);
+			result.set(lazy.get());
+			latch.countDown();
+		}));
+		assertTrue(latch.await(TIMEOUT, TimeUnit.SECONDS));
+		
+		// The queued prefetch runs afterwards and finds the value already built.
+		CountDownLatch drained = new CountDownLatch(1);
+		queue.addOperation(new BlockOperation(drained::countDown));
+		assertTrue(drained.await(TIMEOUT, TimeUnit.SECONDS));
+		
+		assertEquals("value1", result.get());
+		assertEquals(1, builds.get());
+		assertFalse(lazy.isBuilding());
+	}
+	
+	@Test public void prefetchBuildsInBackground() throws InterruptedException {
+		OperationQueue queue = OperationQueue.newSerialQueue("test");
+		AtomicInteger builds = new AtomicInteger(0);
+		AsynchronousLazy<String> lazy = AsynchronousLazy.newInstance(() -> "value" + builds.incrementAndGet());
+		
+		// Suspended, so that the build can't be over before it's checked.
+		queue.setSuspended(true);
+		lazy.prefetch(queue);
+		assertTrue(lazy.isBuilding());
+		lazy.prefetch(queue);
+		queue.setSuspended(false);
+		
+		CountDownLatch drained = new CountDownLatch(1);
+		queue.addOperation(new BlockOperation(drained::countDown));
+		assertTrue(drained.await(TIMEOUT, TimeUnit.SECONDS));
+		
+		assertEquals("value1", lazy.opt());
+		assertEquals("value1", lazy.get());
+		assertEquals(1, builds.get());
+	}
+}
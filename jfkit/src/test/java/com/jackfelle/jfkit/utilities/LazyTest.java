@@ -0,0 +1,122 @@
+//
+//	The MIT License (MIT)
+//
+//	Copyright © 2017-2024 Jacopo Filié
+//
+//	Permission is hereby granted, free of charge, to any person obtaining a copy
+//	of this software and associated documentation files (the "Software"), to deal
+//	in the Software without restriction, including without limitation the rights
+//	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//	copies of the Software, and to permit persons to whom the Software is
+//	furnished to do so, subject to the following conditions:
+//
+//	The above copyright notice and this permission notice shall be included in all
+//	copies or substantial portions of the Software.
+//
+//	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//	SOFTWARE.
+//
+
+
+package com.jackfelle.jfkit.utilities;
+
+import androidx.annotation.NonNull;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class LazyTest
+{
+	private static final long TIMEOUT = 10;
+	
+	@Test public void instancesBuildOnlyOnFirstAccess() {
+		AtomicInteger builds = new AtomicInteger(0);
+		Lazy.Builder<Object> builder = () -> {
+			builds.incrementAndGet();
+			return new Object();
+		};
+		
+		for(Lazy<Object> lazy : new Lazy[] {Lazy.newInstance(builder), Lazy.newRacyInstance(builder), Lazy.newSynchronizedInstance(builder)}) {
+			builds.set(0);
+			Object value = lazy.get();
+			assertSame(value, lazy.get());
+			assertEquals(1, builds.get());
+		}
+	}
+	
+	@Test public void racyInstancesPublishOneOfTheBuiltValues() throws InterruptedException {
+		List<Object> built = Collections.synchronizedList(new ArrayList<>());
+		Lazy<Object> lazy = Lazy.newRacyInstance(() -> {
+			Object retObj = new Object();
+			built.add(retObj);
+			return retObj;
+		});
+		
+		Object[] values = runConcurrently(8, lazy::get);
+		
+		// Racing threads may each build a value, but once published every later read sees the same one.
+		assertTrue(built.size() >= 1);
+		Object published = lazy.get();
+		assertTrue(built.contains(published));
+		assertSame(published, lazy.get());
+		for(Object value : values) {
+			assertTrue(built.contains(value));
+		}
+	}
+	
+	@Test public void synchronizedInstancesBuildOnceUnderContention() throws InterruptedException {
+		AtomicInteger builds = new AtomicInteger(0);
+		Lazy<Object> lazy = Lazy.newSynchronizedInstance(() -> {
+			builds.incrementAndGet();
+			try {
+				Thread.sleep(10);
+			} catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return new Object();
+		});
+		
+		Object[] values = runConcurrently(8, lazy::get);
+		
+		assertEquals(1, builds.get());
+		for(Object value : values) {
+			assertSame(values[0], value);
+		}
+	}
+	
+	private static @NonNull Object[] runConcurrently(int count, @NonNull Lazy.Builder<Object> block) throws InterruptedException {
+		Object[] retObj = new Object[count];
+		CountDownLatch start = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(count);
+		for(int i = 0; i < count; i++) {
+			int index = i;
+			new Thread(() -> {
+				try {
+					start.await();
+					retObj[index] = block.build();
+				} catch(InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				done.countDown();
+			}).start();
+		}
+		start.countDown();
+		assertTrue(done.await(TIMEOUT, TimeUnit.SECONDS));
+		return retObj;
+	}
+}
@@ -0,0 +1,72 @@
+//
+//	The MIT License (MIT)
+//
+//	Copyright © 2017-2024 Jacopo Filié
+//
+//	Permission is hereby granted, free of charge, to any person obtaining a copy
+//	of this software and associated documentation files (the "Software"), to deal
+//	in the Software without restriction, including without limitation the rights
+//	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//	copies of the Software, and to permit persons to whom the Software is
+//	furnished to do so, subject to the following conditions:
+//
+//	The above copyright notice and this permission notice shall be included in all
+//	copies or substantial portions of the Software.
+//
+//	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//	SOFTWARE.
+//
+
+
+package com.jackfelle.jfkit.utilities;
+
+import com.jackfelle.jfkit.Benchmarks;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ObjectIdentifierBenchmark
+{
+	private static final int LOOKUPS = 10000;
+	private static final int ROUNDS = 20;
+	
+	@Test public void lookupIgnoresRegistrySize() {
+		Benchmarks.assumeEnabled();
+		
+		int[] sizes = {10000, 1000000};
+		Object[] objects = new Object[sizes[sizes.length - 1]];
+		double[] nanosPerLookup = new double[sizes.length];
+		int registered = 0;
+		for(int i = 0; i < sizes.length; i++) {
+			for(; registered < sizes[i]; registered++) {
+				objects[registered] = new Object();
+				ObjectIdentifier.getID(objects[registered]);
+			}
+			
+			// The looked up objects are spread over the whole registry.
+			int stride = sizes[i] / LOOKUPS;
+			long best = Long.MAX_VALUE;
+			for(int round = 0; round < ROUNDS; round++) {
+				long start = System.nanoTime();
+				for(int j = 0; j < LOOKUPS; j++) {
+					ObjectIdentifier.getID(objects[j * stride]);
+				}
+				best = Math.min(best, System.nanoTime() - start);
+			}
+			nanosPerLookup[i] = (double)best / LOOKUPS;
+			Benchmarks.report("ObjectIdentifier lookup", "%,d live objects: %.0f ns/lookup", sizes[i], nanosPerLookup[i]);
+		}
+		
+		// Walking the registry would make lookups at 1M live objects a hundred times slower than at 10k.
+		assertEquals(objects.length, registered);
+		assertTrue(ObjectIdentifier.getCount() >= objects.length);
+		assertTrue(nanosPerLookup[1] < nanosPerLookup[0] * 10);
+	}
+}
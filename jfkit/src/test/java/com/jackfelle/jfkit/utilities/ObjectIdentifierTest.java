@@ -0,0 +1,80 @@
+//
+//	The MIT License (MIT)
+//
+//	Copyright © 2017-2024 Jacopo Filié
+//
+//	Permission is hereby granted, free of charge, to any person obtaining a copy
+//	of this software and associated documentation files (the "Software"), to deal
+//	in the Software without restriction, including without limitation the rights
+//	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//	copies of the Software, and to permit persons to whom the Software is
+//	furnished to do so, subject to the following conditions:
+//
+//	The above copyright notice and this permission notice shall be included in all
+//	copies or substantial portions of the Software.
+//
+//	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//	SOFTWARE.
+//
+
+
+package com.jackfelle.jfkit.utilities;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ObjectIdentifierTest
+{
+	@Test public void identifiersFollowIdentity() {
+		String first = new String("value");
+		String second = new String("value");
+		
+		long id = ObjectIdentifier.getID(first);
+		assertEquals(id, ObjectIdentifier.getID(first));
+		assertNotEquals(id, ObjectIdentifier.getID(second));
+	}
+	
+	@Test public void identifiersAreUnique() {
+		List<Object> objects = new ArrayList<>();
+		Set<Long> ids = new HashSet<>();
+		for(int i = 0; i < 10000; i++) {
+			Object object = new Object();
+			objects.add(object);
+			ids.add(ObjectIdentifier.getID(object));
+		}
+		assertEquals(objects.size(), ids.size());
+	}
+	
+	@Test public void collectedObjectsAreExpunged() throws InterruptedException {
+		int count = 10000;
+		List<Object> objects = new ArrayList<>();
+		for(int i = 0; i < count; i++) {
+			Object object = new Object();
+			objects.add(object);
+			ObjectIdentifier.getID(object);
+		}
+		int registered = ObjectIdentifier.getCount();
+		assertTrue(registered >= count);
+		
+		// Entries of collected objects are dropped the next time the registry is used.
+		objects.clear();
+		for(int i = 0; (i < 50) && (ObjectIdentifier.getCount() > registered - count); i++) {
+			System.gc();
+			Thread.sleep(20);
+		}
+		assertTrue("Registered identifiers: " + ObjectIdentifier.getCount(), ObjectIdentifier.getCount() <= registered - count);
+	}
+}
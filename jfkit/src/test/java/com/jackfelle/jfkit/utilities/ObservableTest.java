@@ -0,0 +1,242 @@
+//
+//	The MIT License (MIT)
+//
+//	Copyright © 2017-2024 Jacopo Filié
+//
+//	Permission is hereby granted, free of charge, to any person obtaining a copy
+//	of this software and associated documentation files (the "Software"), to deal
+//	in the Software without restriction, including without limitation the rights
+//	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//	copies of the Software, and to permit persons to whom the Software is
+//	furnished to do so, subject to the following conditions:
+//
+//	The above copyright notice and this permission notice shall be included in all
+//	copies or substantial portions of the Software.
+//
+//	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//	SOFTWARE.
+//
+
+
+package com.jackfelle.jfkit.utilities;
+
+import com.jackfelle.jfkit.core.operations.OperationQueue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ObservableTest
+{
+	private static final long TIMEOUT = 5;
+	
+	@Test public void mapFollowsSource() {
+		Observable<Integer> source = Observable.newInstance(1);
+		Observable<String> mapped = source.map(value -> "#" + value);
+		List<String> values = new ArrayList<>();
+		mapped.addNotificationBlock((newVal, oldVal) -> values.add(oldVal + ">" + newVal));
+		
+		assertEquals("#1", mapped.get());
+		source.set(2);
+		source.set(3);
+		
+		assertEquals("#3", mapped.get());
+		assertEquals(Arrays.asList("#1>#2", "#2>#3"), values);
+	}
+	
+	@Test public void unobservedDerivedValueIsComputedOnRead() {
+		Observable<Integer> source = Observable.newInstance(1);
+		int[] computations = new int[1];
+		Observable<Integer> mapped = source.map(value -> {
+			computations[0]++;
+			return value * 2;
+		});
+		
+		source.set(2);
+		source.set(3);
+		assertEquals(0, computations[0]);
+		assertEquals(Integer.valueOf(6), mapped.get());
+		assertEquals(Integer.valueOf(6), mapped.get());
+		assertEquals(1, computations[0]);
+	}
+	
+	@Test public void combineFollowsBothSources() {
+		Observable<Integer> first = Observable.newSynchronizedInstance(1);
+		Observable<Integer> second = Observable.newAtomicInstance(10);
+		Observable<Integer> sum = Observable.combine(first, second, Integer::sum);
+		List<Integer> values = new ArrayList<>();
+		sum.addNotificationBlock((newVal, oldVal) -> values.add(newVal));
+		
+		first.set(2);
+		second.set(20);
+		
+		assertEquals(Integer.valueOf(22), sum.get());
+		assertEquals(Arrays.asList(12, 22), values);
+	}
+	
+	@Test public void distinctUntilChangedSkipsEquivalentValues() {
+		Observable<String> source = Observable.newInstance("a");
+		Observable<String> distinct = source.distinctUntilChanged(String::equalsIgnoreCase);
+		List<String> values = new ArrayList<>();
+		distinct.addNotificationBlock((newVal, oldVal) -> values.add(newVal));
+		
+		source.set("A");
+		source.set("b");
+		source.set("B");
+		
+		assertEquals("b", distinct.get());
+		assertEquals(Collections.singletonList("b"), values);
+	}
+	
+	@Test public void removingBlockDuringNotificationKeepsCurrentPass() {
+		Observable<Integer> observable = Observable.newAtomicInstance(0);
+		List<String> calls = new ArrayList<>();
+		Observable.NotificationBlock<Integer> second = (newVal, oldVal) -> calls.add("second:" + newVal);
+		observable.addNotificationBlock((newVal, oldVal) -> {
+			calls.add("first:" + newVal);
+			observable.removeNotificationBlock(second);
+		});
+		observable.addNotificationBlock(second);
+		observable.addNotificationBlock(second);
+		
+		// The pass in flight walks its own snapshot; each removal drops a single registration.
+		observable.set(1);
+		observable.set(2);
+		observable.set(3);
+		
+		assertEquals(Arrays.asList("first:1", "second:1", "second:1", "first:2", "second:2", "first:3"), calls);
+	}
+	
+	@Test public void atomicUpdatesAreNotLost() throws InterruptedException {
+		Observable<Integer> counter = Observable.newAtomicInstance(0);
+		int threadCount = 4;
+		int increments = 1000;
+		Thread[] threads = new Thread[threadCount];
+		for(int i = 0; i < threadCount; i++) {
+			threads[i] = new Thread(() -> {
+				for(int j = 0; j < increments; j++) {
+					counter.updateAndGet(value -> value + 1);
+				}
+			});
+			threads[i].start();
+		}
+		for(Thread thread : threads) {
+			thread.join();
+		}
+		
+		assertEquals(Integer.valueOf(threadCount * increments), counter.get());
+	}
+	
+	@Test public void conflatedNotificationsAreOrderedAndEndWithLatestValue() throws InterruptedException {
+		int count = 1000;
+		Observable<Integer> observable = Observable.newConflatedInstance(0, OperationQueue.newSerialQueue("test"));
+		List<Integer> values = Collections.synchronizedList(new ArrayList<>());
+		CountDownLatch latch = new CountDownLatch(1);
+		observable.addNotificationBlock((newVal, oldVal) -> {
+			values.add(newVal);
+			if(newVal == count) {
+				latch.countDown();
+			}
+		});
+		
+		for(int i = 1; i <= count; i++) {
+			observable.set(i);
+		}
+		
+		assertTrue(latch.await(TIMEOUT, TimeUnit.SECONDS));
+		synchronized(values) {
+			for(int i = 1; i < values.size(); i++) {
+				assertTrue(values.get(i) > values.get(i - 1));
+			}
+			assertEquals(Integer.valueOf(count), values.get(values.size() - 1));
+		}
+	}
+	
+	@Test public void conflatedNotificationsSurviveFailingBlock() throws InterruptedException {
+		Observable<Integer> observable = Observable.newConflatedInstance(0, OperationQueue.newSerialQueue("test"));
+		CountDownLatch failed = new CountDownLatch(1);
+		CountDownLatch notified = new CountDownLatch(1);
+		observable.addNotificationBlock((newVal, oldVal) -> {
+			if(newVal == 1) {
+				failed.countDown();
+				throw new IllegalStateException("Expected failure.");
+			}
+			if(newVal == 2) {
+				notified.countDown();
+			}
+		});
+		
+		observable.set(1);
+		assertTrue(failed.await(TIMEOUT, TimeUnit.SECONDS));
+		observable.set(2);
+		
+		assertTrue(notified.await(TIMEOUT, TimeUnit.SECONDS));
+	}
+	
+	@Test public void conflatedNullableNotificationsSurviveFailingBlock() throws InterruptedException {
+		ObservableNullable<Integer> observable = ObservableNullable.newConflatedInstance(OperationQueue.newSerialQueue("test"));
+		CountDownLatch failed = new CountDownLatch(1);
+		CountDownLatch notified = new CountDownLatch(1);
+		observable.addNotificationBlock((newVal, oldVal) -> {
+			if(oldVal == null) {
+				failed.countDown();
+				throw new IllegalStateException("Expected failure.");
+			}
+			notified.countDown();
+		});
+		
+		observable.set(1);
+		assertTrue(failed.await(TIMEOUT, TimeUnit.SECONDS));
+		observable.set(2);
+		
+		assertTrue(notified.await(TIMEOUT, TimeUnit.SECONDS));
+	}
+	
+	@Test public void atomicNotificationsToleratesConcurrentBlockChanges() throws InterruptedException {
+		Observable<Integer> observable = Observable.newAtomicInstance(0);
+		AtomicInteger notifications = new AtomicInteger(0);
+		observable.addNotificationBlock((newVal, oldVal) -> notifications.incrementAndGet());
+		
+		AtomicReference<Throwable> error = new AtomicReference<>();
+		Thread mutator = new Thread(() -> {
+			try {
+				for(int i = 0; i < 20000; i++) {
+					Observable.NotificationBlock<Integer> block = (newVal, oldVal) -> {};
+					observable.addNotificationBlock(block);
+					observable.removeNotificationBlock(block);
+				}
+			} catch(Throwable e) {
+				error.set(e);
+			}
+		});
+		mutator.start();
+		
+		int changes = 0;
+		try {
+			while(mutator.isAlive()) {
+				observable.set(++changes);
+			}
+		} catch(Throwable e) {
+			error.compareAndSet(null, e);
+		}
+		mutator.join();
+		
+		assertEquals(null, error.get());
+		assertEquals(changes, notifications.get());
+	}
+}
@@ -0,0 +1,97 @@
+//
+//	The MIT License (MIT)
+//
+//	Copyright © 2017-2024 Jacopo Filié
+//
+//	Permission is hereby granted, free of charge, to any person obtaining a copy
+//	of this software and associated documentation files (the "Software"), to deal
+//	in the Software without restriction, including without limitation the rights
+//	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//	copies of the Software, and to permit persons to whom the Software is
+//	furnished to do so, subject to the following conditions:
+//
+//	The above copyright notice and this permission notice shall be included in all
+//	copies or substantial portions of the Software.
+//
+//	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//	SOFTWARE.
+//
+
+
+package com.jackfelle.jfkit.utilities;
+
+import com.jackfelle.jfkit.Benchmarks;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ObserversControllerBenchmark
+{
+	private static final int COUNT = 100000;
+	
+	@Test public void synchronousNotificationsDoNotAllocate() {
+		Benchmarks.assumeEnabled();
+		
+		ObserversController<Counter> controller = new ObserversController<>();
+		Counter[] observers = {new Counter(), new Counter(), new Counter()};
+		for(Counter observer : observers) {
+			controller.addObserver(observer);
+		}
+		ObserversController.NotificationBlock<Counter> block = Counter::increment;
+		
+		Runnable notify = () -> {
+			for(int i = 0; i < COUNT; i++) {
+				controller.notifyObservers(block, false);
+			}
+		};
+		notify.run();
+		long bytes = Benchmarks.measureAllocatedBytes(notify);
+		
+		Benchmarks.report("ObserversController sync notify", "%,d notifications to %d observers: %.2f bytes/notification", COUNT, observers.length, (double)bytes / COUNT);
+		
+		assertEquals(2 * COUNT, observers[0].count);
+		assertTrue(bytes < COUNT);
+	}
+	
+	@Test public void observableUpdatesDoNotAllocate() {
+		Benchmarks.assumeEnabled();
+		
+		Integer[] values = new Integer[COUNT];
+		for(int i = 0; i < COUNT; i++) {
+			values[i] = i + 1000;
+		}
+		Observable<Integer> observable = Observable.newInstance(0);
+		Counter counter = new Counter();
+		observable.addNotificationBlock((newVal, oldVal) -> counter.increment());
+		
+		Runnable update = () -> {
+			for(Integer value : values) {
+				observable.set(value);
+			}
+		};
+		update.run();
+		long bytes = Benchmarks.measureAllocatedBytes(update);
+		
+		Benchmarks.report("Observable set", "%,d updates with one block: %.2f bytes/update", COUNT, (double)bytes / COUNT);
+		
+		// The preallocated values are all distinct from the current one, so every update notifies.
+		assertEquals(2 * COUNT, counter.count);
+		assertTrue(bytes < COUNT);
+	}
+	
+	private static final class Counter
+	{
+		private int count;
+		
+		private void increment() {
+			this.count++;
+		}
+	}
+}
@@ -0,0 +1,166 @@
+//
+//	The MIT License (MIT)
+//
+//	Copyright © 2017-2024 Jacopo Filié
+//
+//	Permission is hereby granted, free of charge, to any person obtaining a copy
+//	of this software and associated documentation files (the "Software"), to deal
+//	in the Software without restriction, including without limitation the rights
+//	to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+//	copies of the Software, and to permit persons to whom the Software is
+//	furnished to do so, subject to the following conditions:
+//
+//	The above copyright notice and this permission notice shall be included in all
+//	copies or substantial portions of the Software.
+//
+//	THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//	IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//	FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//	AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//	LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//	OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+//	SOFTWARE.
+//
+
+package com.jackfelle.jfkit.utilities;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ObserversControllerTest
+{
+	private static final long TIMEOUT = 10;
+	
+	@Test public void asynchronousNotificationsUseBoundedThreads() throws InterruptedException {
+		ObserversController<Object> controller = new ObserversController<>();
+		Object observer = new Object();
+		controller.addObserver(observer);
+		
+		int count = 500;
+		CountDownLatch latch = new CountDownLatch(count);
+		Set<Thread> threads = Collections.newSetFromMap(new ConcurrentHashMap<>());
+		AtomicInteger executingCount = new AtomicInteger(0);
+		AtomicInteger maxExecutingCount = new AtomicInteger(0);
+		ObserversController.NotificationBlock<Object> slowBlock = notifiedObserver -> {
+			threads.add(Thread.currentThread());
+			int executing = executingCount.incrementAndGet();
+			maxExecutingCount.accumulateAndGet(executing, Math::max);
+			try {
+				Thread.sleep(1);
+			} catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			executingCount.decrementAndGet();
+			latch.countDown();
+		};
+		
+		for(int i = 0; i < count; i++) {
+			controller.notifyObservers(slowBlock);
+		}
+		assertTrue(latch.await(TIMEOUT, TimeUnit.SECONDS));
+		
+		// Notifications run at most one per processor, on pooled threads that are reused instead of one new thread each.
+		int processors = Runtime.getRuntime().availableProcessors();
+		assertTrue("Concurrent notifications: " + maxExecutingCount.get(), maxExecutingCount.get() <= processors);
+		assertTrue("Notifying threads: " + threads.size(), threads.size() <= processors + 2);
+		controller.removeObserver(observer);
+	}
+	
+	@Test public void equalButDistinctObserversAreKeptApart() {
+		ObserversController<Object> controller = new ObserversController<>();
+		Object first = new AlwaysEqual("first");
+		Object second = new AlwaysEqual("second");
+		
+		// Observers are indexed by identity, so equals and hashCode can't merge or confuse them.
+		controller.addObserver(first);
+		controller.addObserver(second);
+		assertEquals(2, controller.getCount());
+		
+		controller.removeObserver(second);
+		List<Object> notified = new ArrayList<>();
+		controller.notifyObservers(notified::add, false);
+		assertEquals(Collections.singletonList(first), notified);
+		assertSame(first, notified.get(0));
+		
+		controller.removeObserver(first);
+		assertEquals(0, controller.getCount());
+	}
+	
+	@Test public void duplicateObserverIsAddedOnce() {
+		ObserversController<Object> controller = new ObserversController<>();
+		Object observer = new Object();
+		
+		controller.addObserver(observer);
+		controller.addObserver(observer);
+		assertEquals(1, controller.getCount());
+		
+		List<Object> notified = new ArrayList<>();
+		controller.notifyObservers(notified::add, false);
+		assertEquals(1, notified.size());
+		
+		controller.removeObserver(observer);
+		assertEquals(0, controller.getCount());
+		controller.removeObserver(observer);
+		assertEquals(0, controller.getCount());
+	}
+	
+	@Test public void removingUnknownObserverKeepsOthers() {
+		ObserversController<Object> controller = new ObserversController<>();
+		List<Object> observers = new ArrayList<>();
+		for(int i = 0; i < 100; i++) {
+			Object observer = new Object();
+			observers.add(observer);
+			controller.addObserver(observer);
+		}
+		
+		controller.removeObserver(new Object());
+		assertEquals(100, controller.getCount());
+		
+		for(int i = 0; i < observers.size(); i += 2) {
+			controller.removeObserver(observers.get(i));
+		}
+		List<Object> notified = new ArrayList<>();
+		controller.notifyObservers(notified::add, false);
+		assertEquals(50, notified.size());
+		for(Object observer : notified) {
+			assertTrue((observers.indexOf(observer) % 2) == 1);
+		}
+		
+		for(Object observer : observers) {
+			controller.removeObserver(observer);
+		}
+	}
+	
+	private static final class AlwaysEqual
+	{
+		private final String name;
+		
+		AlwaysEqual(String name) {
+			this.name = name;
+		}
+		
+		@Override public boolean equals(Object object) {
+			return (object instanceof AlwaysEqual);
+		}
+		
+		@Override public int hashCode() {
+			return 0;
+		}
+		
+		@Override public String toString() {
+			return this.name;
+		}
+	}
+}